@@ -84,6 +84,9 @@ public void onWorldSave(SaveWorldEvent event) {
         if (Sponge.getServer().getDefaultWorld().isPresent()) {
             if (event.getTargetWorld().getUniqueId().equals(Sponge.getServer().getDefaultWorld().get().getUniqueId())) {
                 SpongeUsernameCache.save();
+                Sponge.getServiceManager().provide(UserStorageService.class)
+                        .filter(x -> x instanceof SpongeUserStorageService)
+                        .ifPresent(x -> ((SpongeUserStorageService) x).saveIndex());
                 final MinecraftServer server = SpongeImpl.getServer();
                 ((PlayerProfileCacheBridge) server.getPlayerProfileCache()).bridge$setCanSave(true);
                 server.getPlayerProfileCache().save();
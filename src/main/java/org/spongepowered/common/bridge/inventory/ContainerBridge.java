@@ -54,6 +54,24 @@ public interface ContainerBridge {
 
     void bridge$detectAndSendChanges(boolean captureOnly);
 
+    /**
+     * Marks a slot as changed so it is compared on the next call to
+     * {@link net.minecraft.inventory.Container#detectAndSendChanges()},
+     * even when only dirty slots are being checked.
+     *
+     * @param slotId The container slot index
+     */
+    void bridge$markSlotDirty(int slotId);
+
+    /**
+     * Sets whether {@link net.minecraft.inventory.Container#detectAndSendChanges()}
+     * should only compare slots marked through {@link #bridge$markSlotDirty(int)}
+     * instead of every slot of the container.
+     *
+     * @param onlyDirtySlots Whether to only check dirty slots
+     */
+    void bridge$setOnlyDirtySlots(boolean onlyDirtySlots);
+
     void bridge$setCanInteractWith(@Nullable Predicate<EntityPlayer> predicate);
     
     void bridge$setSpectatorChest(boolean spectatorChest);
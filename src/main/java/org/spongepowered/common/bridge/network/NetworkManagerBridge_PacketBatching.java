@@ -0,0 +1,56 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.bridge.network;
+
+public interface NetworkManagerBridge_PacketBatching {
+
+    /**
+     * Flushes the packets written since the last flush, on the event loop of
+     * the connection.
+     */
+    void batchingBridge$flush();
+
+    /**
+     * Gets the amount of flushes of batched packets.
+     *
+     * @return The amount of flushes
+     */
+    long batchingBridge$getFlushCount();
+
+    /**
+     * Gets the average amount of batched packets written per flush.
+     *
+     * @return The average amount of packets per flush
+     */
+    double batchingBridge$getPacketsPerFlush();
+
+    /**
+     * Gets the average amount of bytes written per flush of batched packets,
+     * after compression and encryption.
+     *
+     * @return The average amount of bytes per flush
+     */
+    double batchingBridge$getBytesPerFlush();
+}
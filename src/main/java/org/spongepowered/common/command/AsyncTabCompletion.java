@@ -0,0 +1,185 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.command;
+
+import static org.spongepowered.api.command.CommandMessageFormatting.error;
+import static org.spongepowered.api.util.SpongeApiTranslationHelper.t;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.NetHandlerPlayServer;
+import net.minecraft.network.play.client.CPacketTabComplete;
+import net.minecraft.network.play.server.SPacketTabComplete;
+import org.spongepowered.api.command.CommandCallable;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandMapping;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.category.AsyncTabCompletionCategory;
+import org.spongepowered.common.util.VecHelper;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Completes the arguments of commands whose suggestions can be computed from
+ * any thread on a separate thread pool, posting the results back to the main
+ * thread to fire the tab complete event and reply to the player.
+ *
+ * <p>All methods must be called from the main thread.</p>
+ */
+public final class AsyncTabCompletion {
+
+    // The completion currently running for each connection, which is discarded when the player types again
+    private static final Map<NetHandlerPlayServer, Request> pending = new WeakHashMap<>();
+    @Nullable private static ExecutorService executor;
+    @Nullable private static ScheduledExecutorService timeoutExecutor;
+
+    private AsyncTabCompletion() {
+    }
+
+    /**
+     * Starts completing the command line of the packet off the main thread,
+     * if enabled and the completed command allows it.
+     *
+     * @param player The player completing the command line
+     * @param packet The tab complete packet
+     * @return Whether the command line is being completed asynchronously
+     */
+    public static boolean tryComplete(final EntityPlayerMP player, final CPacketTabComplete packet) {
+        final NetHandlerPlayServer connection = player.connection;
+        final Request previous = pending.remove(connection);
+        if (previous != null) {
+            previous.cancel();
+        }
+        final AsyncTabCompletionCategory config = SpongeImpl.getGlobalConfigAdapter().getConfig().getCommands().getAsyncTabCompletion();
+        final String message = packet.getMessage();
+        // Only arguments are completed asynchronously, command names are cheap to complete
+        if (!config.isEnabled() || !message.startsWith("/") || message.indexOf(' ') == -1) {
+            return false;
+        }
+        final CommandSource source = (CommandSource) player;
+        final String arguments = message.substring(1);
+        final String[] argSplit = arguments.split(" ", 2);
+        final Optional<? extends CommandMapping> mapping = SpongeImpl.getCommandManager()
+                .get(argSplit[0], source, SpongeCommandDispatcher.ON_DISCOVERY);
+        if (!mapping.isPresent() || !isThreadSafe(mapping.get(), config)) {
+            return false;
+        }
+        @Nullable final Location<World> target = packet.getTargetBlock() == null ? null
+                : new Location<>((World) player.getEntityWorld(), VecHelper.toVector3i(packet.getTargetBlock()));
+        final boolean usingBlock = packet.hasTargetBlock();
+        final CommandCallable callable = mapping.get().getCallable();
+        final Request request = new Request();
+        pending.put(connection, request);
+        request.task = getExecutor(config).submit(() -> {
+            List<String> suggestions = Collections.emptyList();
+            Text failure = null;
+            try {
+                suggestions = callable.getSuggestions(source, argSplit[1], target);
+            } catch (CommandException e) {
+                failure = error(t("Error getting suggestions: %s", e.getText()));
+            } catch (Exception e) {
+                SpongeImpl.getLogger().error("Error occurred while tab completing '{}'", arguments, e);
+            }
+            final List<String> result = suggestions;
+            final Text resultFailure = failure;
+            SpongeImpl.getServer().addScheduledTask(() -> complete(connection, request, source, arguments, target, usingBlock, result, resultFailure));
+        });
+        timeoutExecutor.schedule(request::cancel, config.getTimeout(), TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    private static void complete(final NetHandlerPlayServer connection, final Request request, final CommandSource source, final String arguments,
+            @Nullable final Location<World> target, final boolean usingBlock, final List<String> suggestions, @Nullable final Text failure) {
+        // The player typed again or the completion timed out in the meantime
+        if (pending.get(connection) != request || request.cancelled) {
+            return;
+        }
+        pending.remove(connection);
+        final List<String> completions;
+        if (failure != null) {
+            source.sendMessage(failure);
+            completions = Collections.emptyList();
+        } else {
+            completions = SpongeImpl.getCommandManager().postSuggestions(source, arguments, target, usingBlock, suggestions);
+        }
+        connection.sendPacket(new SPacketTabComplete(completions.toArray(new String[0])));
+    }
+
+    private static boolean isThreadSafe(final CommandMapping mapping, final AsyncTabCompletionCategory config) {
+        if (mapping.getCallable() instanceof AsyncSuggestionCallable) {
+            return true;
+        }
+        final List<String> commands = config.getThreadSafeCommands();
+        if (commands.isEmpty()) {
+            return false;
+        }
+        for (String alias : mapping.getAllAliases()) {
+            if (commands.contains(alias.toLowerCase())) {
+                return true;
+            }
+        }
+        return SpongeImpl.getCommandManager().getOwner(mapping).map(PluginContainer::getId).filter(commands::contains).isPresent();
+    }
+
+    private static ExecutorService getExecutor(final AsyncTabCompletionCategory config) {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(config.getThreads(),
+                    new ThreadFactoryBuilder().setNameFormat("Sponge - Async Tab Complete Thread #%d").setDaemon(true).build());
+            timeoutExecutor = Executors.newSingleThreadScheduledExecutor(
+                    new ThreadFactoryBuilder().setNameFormat("Sponge - Async Tab Complete Timeout Thread").setDaemon(true).build());
+        }
+        return executor;
+    }
+
+    private static final class Request {
+
+        @Nullable volatile Future<?> task;
+        volatile boolean cancelled;
+
+        void cancel() {
+            this.cancelled = true;
+            final Future<?> task = this.task;
+            if (task != null) {
+                task.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.command;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimaps;
+import org.spongepowered.api.command.CommandMapping;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * An immutable character trie over the lower case aliases of registered
+ * commands, used to find the commands starting with a given prefix
+ * without looking at every registered alias.
+ */
+final class CommandAliasTrie {
+
+    static final CommandAliasTrie EMPTY = new CommandAliasTrie(new Builder().build());
+
+    private final Node root;
+
+    private CommandAliasTrie(Node root) {
+        this.root = root;
+    }
+
+    static CommandAliasTrie of(ListMultimap<String, CommandMapping> commands) {
+        final Builder root = new Builder();
+        for (Map.Entry<String, List<CommandMapping>> entry : Multimaps.asMap(commands).entrySet()) {
+            Builder node = root;
+            final String alias = entry.getKey();
+            for (int i = 0; i < alias.length(); i++) {
+                node = node.children.computeIfAbsent(alias.charAt(i), c -> new Builder());
+            }
+            node.alias = alias;
+            node.mappings = ImmutableList.copyOf(entry.getValue());
+        }
+        return new CommandAliasTrie(root.build());
+    }
+
+    /**
+     * Calls the consumer with every alias starting with the given lower case
+     * prefix and the mappings registered for it, in alphabetical order.
+     *
+     * @param prefix The lower case prefix
+     * @param consumer The consumer
+     */
+    void forEachStartingWith(String prefix, BiConsumer<String, List<CommandMapping>> consumer) {
+        Node node = this.root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node != null) {
+            node.forEach(consumer);
+        }
+    }
+
+    private static final class Node {
+
+        final char[] keys;
+        final Node[] children;
+        @Nullable final String alias;
+        final List<CommandMapping> mappings;
+
+        Node(char[] keys, Node[] children, @Nullable String alias, List<CommandMapping> mappings) {
+            this.keys = keys;
+            this.children = children;
+            this.alias = alias;
+            this.mappings = mappings;
+        }
+
+        @Nullable
+        Node child(char key) {
+            final int index = Arrays.binarySearch(this.keys, key);
+            return index < 0 ? null : this.children[index];
+        }
+
+        void forEach(BiConsumer<String, List<CommandMapping>> consumer) {
+            if (this.alias != null) {
+                consumer.accept(this.alias, this.mappings);
+            }
+            for (Node child : this.children) {
+                child.forEach(consumer);
+            }
+        }
+    }
+
+    private static final class Builder {
+
+        final TreeMap<Character, Builder> children = new TreeMap<>();
+        @Nullable String alias;
+        List<CommandMapping> mappings = ImmutableList.of();
+
+        Node build() {
+            final char[] keys = new char[this.children.size()];
+            final Node[] nodes = new Node[this.children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Builder> entry : this.children.entrySet()) {
+                keys[i] = entry.getKey();
+                nodes[i++] = entry.getValue().build();
+            }
+            return new Node(keys, nodes, this.alias, this.mappings);
+        }
+    }
+}
@@ -28,13 +28,14 @@
 import static org.spongepowered.api.command.CommandMessageFormatting.SPACE_TEXT;
 import static org.spongepowered.api.util.SpongeApiTranslationHelper.t;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandCallable;
 import org.spongepowered.api.command.CommandException;
@@ -47,6 +48,7 @@
 import org.spongepowered.api.command.dispatcher.Disambiguator;
 import org.spongepowered.api.command.dispatcher.Dispatcher;
 import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.service.permission.PermissionService;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.action.TextActions;
 import org.spongepowered.api.text.format.TextColors;
@@ -54,15 +56,20 @@
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.service.permission.SpongePermissionService;
+import org.spongepowered.common.service.permission.base.SpongeBaseSubject;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -100,6 +107,9 @@ final class SpongeCommandDispatcher implements Dispatcher {
 
     private final Disambiguator disambiguatorFunc;
     private final ListMultimap<String, CommandMapping> commands = ArrayListMultimap.create();
+    // Rebuilt from the commands on first use after they changed
+    @Nullable private volatile CommandAliasTrie aliasTrie = CommandAliasTrie.EMPTY;
+    private final Cache<CommandSource, VisibleCommands> visibleCommands = CacheBuilder.newBuilder().weakKeys().build();
 
     /**
      * Creates a new dispatcher with a specific disambiguator.
@@ -191,6 +201,7 @@ public synchronized Optional<CommandMapping> register(CommandCallable callable,
         for (String alias : aliases) {
             this.commands.put(alias.toLowerCase(), mapping);
         }
+        onCommandsChanged();
 
         return Optional.of(mapping);
     }
@@ -202,7 +213,9 @@ public synchronized Optional<CommandMapping> register(CommandCallable callable,
      * @return The previous mapping associated with the alias, if one was found
      */
     public synchronized Collection<CommandMapping> remove(String alias) {
-        return this.commands.removeAll(alias.toLowerCase());
+        final Collection<CommandMapping> removed = this.commands.removeAll(alias.toLowerCase());
+        onCommandsChanged();
+        return removed;
     }
 
     /**
@@ -221,6 +234,7 @@ public synchronized boolean removeAll(Collection<?> aliases) {
                 found = true;
             }
         }
+        onCommandsChanged();
 
         return found;
     }
@@ -244,6 +258,7 @@ public synchronized Optional<CommandMapping> removeMapping(CommandMapping mappin
                 found = current;
             }
         }
+        onCommandsChanged();
 
         return Optional.ofNullable(found);
     }
@@ -266,10 +281,54 @@ public synchronized boolean removeMappings(Collection<?> mappings) {
                 found = true;
             }
         }
+        onCommandsChanged();
 
         return found;
     }
 
+    private void onCommandsChanged() {
+        this.aliasTrie = null;
+        this.visibleCommands.invalidateAll();
+    }
+
+    private CommandAliasTrie getAliasTrie() {
+        CommandAliasTrie trie = this.aliasTrie;
+        if (trie == null) {
+            synchronized (this) {
+                trie = this.aliasTrie;
+                if (trie == null) {
+                    this.aliasTrie = trie = CommandAliasTrie.of(this.commands);
+                }
+            }
+        }
+        return trie;
+    }
+
+    /**
+     * Tests whether the source has permission to use the command, reusing
+     * the result until the commands or any permissions change.
+     *
+     * <p>Results are only reused with the Sponge permission service, as
+     * other services don't tell us about changed permissions.</p>
+     */
+    private boolean testPermission(CommandSource source, CommandMapping mapping) {
+        if (!(SpongeImpl.getGame().getServiceManager().provide(PermissionService.class).orElse(null) instanceof SpongePermissionService)) {
+            return mapping.getCallable().testPermission(source);
+        }
+        final long generation = SpongeBaseSubject.getPermissionCacheGeneration();
+        VisibleCommands visible = this.visibleCommands.getIfPresent(source);
+        if (visible == null || visible.generation != generation) {
+            visible = new VisibleCommands(generation);
+            this.visibleCommands.put(source, visible);
+        }
+        Boolean permitted = visible.permitted.get(mapping);
+        if (permitted == null) {
+            permitted = mapping.getCallable().testPermission(source);
+            visible.permitted.put(mapping, permitted);
+        }
+        return permitted;
+    }
+
     @Override
     public synchronized Set<CommandMapping> getCommands() {
         return ImmutableSet.copyOf(this.commands.values());
@@ -379,7 +438,7 @@ public List<String> getSuggestions(CommandSource src, final String arguments, @N
     @Override
     public boolean testPermission(CommandSource source) {
         for (CommandMapping mapping : this.commands.values()) {
-            if (mapping.getCallable().testPermission(source)) {
+            if (testPermission(source, mapping)) {
                 return true;
             }
         }
@@ -417,14 +476,21 @@ public Optional<Text> getHelp(CommandSource source) {
     }
 
     private Set<String> filterCommands(final CommandSource src) {
-        return Multimaps.filterValues(this.commands, input -> input.getCallable().testPermission(src)).keys().elementSet();
+        return filterCommands(src, "");
     }
 
     // Filter out commands by String first
     private Set<String> filterCommands(final CommandSource src, String start) {
-        ListMultimap<String, CommandMapping> map = Multimaps.filterKeys(this.commands,
-                input -> input != null && input.toLowerCase().startsWith(start.toLowerCase()));
-        return Multimaps.filterValues(map, input -> input.getCallable().testPermission(src)).keys().elementSet();
+        final Set<String> aliases = new LinkedHashSet<>();
+        getAliasTrie().forEachStartingWith(start.toLowerCase(), (alias, mappings) -> {
+            for (CommandMapping mapping : mappings) {
+                if (testPermission(src, mapping)) {
+                    aliases.add(alias);
+                    return;
+                }
+            }
+        });
+        return aliases;
     }
 
     /**
@@ -468,4 +534,14 @@ public Multimap<String, CommandMapping> getAll() {
         return ImmutableMultimap.copyOf(this.commands);
     }
 
+    private static final class VisibleCommands {
+
+        final long generation;
+        final Map<CommandMapping, Boolean> permitted = new ConcurrentHashMap<>();
+
+        VisibleCommands(long generation) {
+            this.generation = generation;
+        }
+    }
+
 }
@@ -45,6 +45,7 @@
 import org.spongepowered.common.command.args.FilteredPluginsCommandElement;
 import org.spongepowered.common.relocate.co.aikar.timings.SpongeTimingsFactory;
 import co.aikar.timings.Timings;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
@@ -91,6 +92,7 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.bridge.OwnershipTrackedBridge;
 import org.spongepowered.common.bridge.entity.EntityBridge;
+import org.spongepowered.common.bridge.network.NetworkManagerBridge_PacketBatching;
 import org.spongepowered.common.bridge.server.MinecraftServerBridge;
 import org.spongepowered.common.bridge.world.DimensionTypeBridge;
 import org.spongepowered.common.bridge.world.WorldServerBridge;
@@ -106,8 +108,11 @@
 import org.spongepowered.common.config.type.WorldConfig;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.event.SpongeEventManager;
+import org.spongepowered.common.item.inventory.lens.impl.ReusableLens;
 import org.spongepowered.common.mixin.core.world.WorldAccessor;
+import org.spongepowered.common.text.TextComponentCache;
 import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.world.storage.WorldUserCache;
 
 import java.io.File;
 import java.net.MalformedURLException;
@@ -220,7 +225,10 @@ public static CommandSpec createSpongeCommand() {
         nonFlagChildren.register(createSpongeEntityInfoCommand(), "entityInfo");
         nonFlagChildren.register(createSpongeAuditCommand(), "audit");
         nonFlagChildren.register(createSpongeHeapCommand(), "heap");
+        nonFlagChildren.register(createSpongeLensesCommand(), "lenses");
+        nonFlagChildren.register(createSpongePacketsCommand(), "packets");
         nonFlagChildren.register(createSpongePluginsCommand(), "plugins");
+        nonFlagChildren.register(createSpongeTextsCommand(), "texts");
         nonFlagChildren.register(createSpongeTimingsCommand(), "timings");
         nonFlagChildren.register(createSpongeWhichCommand(), "which");
         nonFlagChildren.register(createSpongeMetricsCommand(), "metrics");
@@ -238,6 +246,9 @@ public static CommandSpec createSpongeCommand() {
                 INDENT, title("chunks"), LONG_INDENT, "Prints chunk data for a specific dimension or world(s)\n",
                 INDENT, title("conf"), LONG_INDENT, "Configure sponge settings\n",
                 INDENT, title("heap"), LONG_INDENT, "Dump live JVM heap\n",
+                INDENT, title("lenses"), LONG_INDENT, "Lists the inventory lens trees shared between inventories\n",
+                INDENT, title("packets"), LONG_INDENT, "Prints the packets and bytes written per flush of batched packets\n",
+                INDENT, title("texts"), LONG_INDENT, "Prints how often converted texts were reused\n",
                 INDENT, title("reload"), LONG_INDENT, "Reloads a global, dimension, or world config\n",
                 INDENT, title("save"), LONG_INDENT, "Saves a global, dimension, or world config\n",
                 INDENT, title("version"), LONG_INDENT, "Prints current Sponge version\n",
@@ -404,13 +415,17 @@ protected Text getChunksInfo(final WorldServer worldserver) {
                     if (((WorldBridge) worldserver).bridge$isFake() || worldserver.getWorldInfo() == null) {
                         return Text.of(NEWLINE_TEXT, "Fake world");
                     }
+                    final WorldUserCache userCache = ((WorldInfoBridge) worldserver.getWorldInfo()).bridge$getUserCache();
                     return Text.of(NEWLINE_TEXT, key("DimensionId: "), value(((WorldServerBridge) worldserver).bridge$getDimensionId()), NEWLINE_TEXT,
                         key("Loaded chunks: "), value(worldserver.getChunkProvider().getLoadedChunkCount()), NEWLINE_TEXT,
                         key("Active chunks: "), value(worldserver.getChunkProvider().getLoadedChunks().size()), NEWLINE_TEXT,
                         key("Entities: "), value(worldserver.loadedEntityList.size()), NEWLINE_TEXT,
                         key("Tile Entities: "), value(worldserver.loadedTileEntityList.size()), NEWLINE_TEXT,
                         key("Removed Entities:"), value(((WorldAccessor) worldserver).accessor$getUnloadedEntityList().size()), NEWLINE_TEXT,
-                        key("Removed Tile Entities: "), value(((WorldAccessor) worldserver).accessor$getTileEntitiesToBeRemoved()), NEWLINE_TEXT
+                        key("Removed Tile Entities: "), value(((WorldAccessor) worldserver).accessor$getTileEntitiesToBeRemoved()), NEWLINE_TEXT,
+                        key("Cached Block Owners: "), value(userCache.size()), NEWLINE_TEXT,
+                        key("Block Owner Cache Hits/Misses: "), value(userCache.getHits() + "/" + userCache.getMisses()
+                            + " (" + THREE_DECIMAL_DIGITS_FORMATTER.format(userCache.getHitRatio() * 100) + "%)"), NEWLINE_TEXT
                     );
                 }
             })
@@ -497,6 +512,81 @@ private static CommandSpec createSpongeHeapCommand() {
 
     }
 
+    private static CommandSpec createSpongeLensesCommand() {
+        return CommandSpec.builder()
+            .description(Text.of("Lists the inventory lens trees shared between inventories"))
+            .permission("sponge.command.lenses")
+            .executor((src, args) -> {
+                int trees = 0;
+                long lenses = 0;
+                long saved = 0;
+                for (final ReusableLens.Statistics statistics : ReusableLens.getStatistics()) {
+                    src.sendMessage(Text.of(TextColors.GREEN, statistics.adapterType.getName(), TextColors.RESET,
+                        " (", statistics.lensType.getSimpleName(), ", ", statistics.size, " slots): ",
+                        TextColors.LIGHT_PURPLE, statistics.lenses, TextColors.RESET, " lenses, shared by ",
+                        TextColors.LIGHT_PURPLE, statistics.uses, TextColors.RESET, " inventories"));
+                    trees++;
+                    lenses += statistics.lenses;
+                    saved += (long) statistics.lenses * (statistics.uses - 1);
+                }
+                src.sendMessage(Text.of("Shared lens trees: ", TextColors.LIGHT_PURPLE, trees, TextColors.RESET,
+                    ", Lenses: ", TextColors.LIGHT_PURPLE, lenses, TextColors.RESET,
+                    ", Lenses not built: ", TextColors.LIGHT_PURPLE, saved));
+                return CommandResult.success();
+            })
+            .build();
+    }
+
+    private static CommandSpec createSpongePacketsCommand() {
+        return CommandSpec.builder()
+            .description(Text.of("Prints the packets and bytes written per flush of batched packets"))
+            .permission("sponge.command.packets")
+            .executor((src, args) -> {
+                long flushes = 0;
+                double packets = 0;
+                double bytes = 0;
+                for (final EntityPlayerMP player : SpongeImpl.getServer().getPlayerList().getPlayers()) {
+                    if (!(player.connection.netManager instanceof NetworkManagerBridge_PacketBatching)) {
+                        src.sendMessage(Text.of("Packet batching is disabled"));
+                        return CommandResult.empty();
+                    }
+                    final NetworkManagerBridge_PacketBatching manager = (NetworkManagerBridge_PacketBatching) player.connection.netManager;
+                    final long playerFlushes = manager.batchingBridge$getFlushCount();
+                    src.sendMessage(Text.of(TextColors.GREEN, player.getName(), TextColors.RESET, ": ",
+                        TextColors.LIGHT_PURPLE, playerFlushes, TextColors.RESET, " flushes, ",
+                        TextColors.LIGHT_PURPLE, THREE_DECIMAL_DIGITS_FORMATTER.format(manager.batchingBridge$getPacketsPerFlush()),
+                        TextColors.RESET, " packets and ",
+                        TextColors.LIGHT_PURPLE, THREE_DECIMAL_DIGITS_FORMATTER.format(manager.batchingBridge$getBytesPerFlush()),
+                        TextColors.RESET, " bytes per flush"));
+                    flushes += playerFlushes;
+                    packets += manager.batchingBridge$getPacketsPerFlush() * playerFlushes;
+                    bytes += manager.batchingBridge$getBytesPerFlush() * playerFlushes;
+                }
+                src.sendMessage(Text.of("Flushes: ", TextColors.LIGHT_PURPLE, flushes, TextColors.RESET,
+                    ", Packets per flush: ", TextColors.LIGHT_PURPLE, THREE_DECIMAL_DIGITS_FORMATTER.format(flushes == 0 ? 0 : packets / flushes),
+                    TextColors.RESET, ", Bytes per flush: ", TextColors.LIGHT_PURPLE,
+                    THREE_DECIMAL_DIGITS_FORMATTER.format(flushes == 0 ? 0 : bytes / flushes)));
+                return CommandResult.success();
+            })
+            .build();
+    }
+
+    private static CommandSpec createSpongeTextsCommand() {
+        return CommandSpec.builder()
+            .description(Text.of("Prints how often converted texts were reused"))
+            .permission("sponge.command.texts")
+            .executor((src, args) -> {
+                final CacheStats stats = TextComponentCache.getStats();
+                src.sendMessage(Text.of("Shared text components: ", TextColors.LIGHT_PURPLE, stats.hitCount(), TextColors.RESET, " hits, ",
+                    TextColors.LIGHT_PURPLE, stats.missCount(), TextColors.RESET, " misses, ",
+                    TextColors.LIGHT_PURPLE, stats.evictionCount(), TextColors.RESET, " evictions"));
+                src.sendMessage(Text.of("Conversions not built: ", TextColors.LIGHT_PURPLE,
+                    THREE_DECIMAL_DIGITS_FORMATTER.format(TextComponentCache.getHitRatio() * 100), "%"));
+                return CommandResult.success();
+            })
+            .build();
+    }
+
     private static final Text IMPLEMENTATION_NAME = Text.of(TextColors.YELLOW, TextStyles.BOLD,
         Sponge.getPlatform().getContainer(IMPLEMENTATION).getName());
 
@@ -421,17 +421,7 @@ public List<String> getSuggestions(CommandSource src, String arguments, @Nullabl
 
     public List<String> getSuggestions(CommandSource src, String arguments, @Nullable Location<World> targetPosition, boolean usingBlock) {
         try {
-            final String[] argSplit = arguments.split(" ", 2);
-            List<String> suggestions = new ArrayList<>(this.dispatcher.getSuggestions(src, arguments, targetPosition));
-            Sponge.getCauseStackManager().pushCause(src);
-            final TabCompleteEvent.Command event = SpongeEventFactory.createTabCompleteEventCommand(Sponge.getCauseStackManager().getCurrentCause(),
-                    ImmutableList.copyOf(suggestions), suggestions, argSplit.length > 1 ? argSplit[1] : "", argSplit[0], arguments, Optional.ofNullable(targetPosition), usingBlock); // TODO zml: Should this be exposed in the API?
-            Sponge.getGame().getEventManager().post(event);
-            Sponge.getCauseStackManager().popCause();
-            if (event.isCancelled()) {
-                return ImmutableList.of();
-            }
-            return ImmutableList.copyOf(event.getTabCompletions());
+            return postSuggestions(src, arguments, targetPosition, usingBlock, this.dispatcher.getSuggestions(src, arguments, targetPosition));
         } catch (CommandException e) {
             src.sendMessage(error(t("Error getting suggestions: %s", e.getText())));
             return Collections.emptyList();
@@ -440,6 +430,32 @@ public List<String> getSuggestions(CommandSource src, String arguments, @Nullabl
         }
     }
 
+    /**
+     * Posts the {@link TabCompleteEvent.Command} for suggestions that were
+     * computed for the given command line, which must happen on the main thread.
+     *
+     * @param src The source the suggestions are for
+     * @param arguments The command line, without the leading slash
+     * @param targetPosition The position the source is looking at
+     * @param usingBlock Whether the command is completed from a command block
+     * @param suggestions The suggestions that were computed
+     * @return The suggestions to send
+     */
+    public List<String> postSuggestions(CommandSource src, String arguments, @Nullable Location<World> targetPosition, boolean usingBlock,
+            List<String> suggestions) {
+        final String[] argSplit = arguments.split(" ", 2);
+        suggestions = new ArrayList<>(suggestions);
+        Sponge.getCauseStackManager().pushCause(src);
+        final TabCompleteEvent.Command event = SpongeEventFactory.createTabCompleteEventCommand(Sponge.getCauseStackManager().getCurrentCause(),
+                ImmutableList.copyOf(suggestions), suggestions, argSplit.length > 1 ? argSplit[1] : "", argSplit[0], arguments, Optional.ofNullable(targetPosition), usingBlock); // TODO zml: Should this be exposed in the API?
+        Sponge.getGame().getEventManager().post(event);
+        Sponge.getCauseStackManager().popCause();
+        if (event.isCancelled()) {
+            return ImmutableList.of();
+        }
+        return ImmutableList.copyOf(event.getTabCompletions());
+    }
+
     @Override
     public boolean testPermission(CommandSource source) {
         return this.dispatcher.testPermission(source);
@@ -39,6 +39,7 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.bridge.command.CommandSenderBridge;
+import org.spongepowered.common.service.permission.base.SpongeMemorySubjectData;
 import org.spongepowered.common.service.permission.base.SpongeSubject;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.util.VecHelper;
@@ -54,7 +55,13 @@ public class WrapperCommandSource extends SpongeSubject implements CommandSource
     private WrapperCommandSource(ICommandSender sender) {
         this.sender = sender;
         this.service = SpongeImpl.getGame().getServiceManager().provideUnchecked(PermissionService.class);
-        this.data = new MemorySubjectData(this.service);
+        this.data = new SpongeMemorySubjectData(this.service) {
+
+            @Override
+            protected void onChange() {
+                invalidatePermissionCache();
+            }
+        };
         CommandPermissions.populateMinecraftPermissions(sender, this.data);
     }
 
@@ -0,0 +1,68 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigSerializable
+public class AsyncTabCompletionCategory extends ConfigCategory {
+
+    @Setting(value = "enabled", comment = ""
+            + "If 'true', the arguments of commands that can be completed from any thread are completed\n"
+            + "on a separate thread pool instead of the main thread. Other commands are still completed on the main thread.")
+    private boolean enabled = false;
+
+    @Setting(value = "threads", comment = "The number of threads used to complete commands. (Minimum: 1)")
+    private int threads = 2;
+
+    @Setting(value = "timeout", comment = ""
+            + "The time, in milliseconds, after which the completion of a command is cancelled and no suggestions are sent.")
+    private int timeout = 1000;
+
+    @Setting(value = "thread-safe-commands", comment = ""
+            + "Commands whose suggestions may be computed from any thread, in addition to those declaring so themselves.\n"
+            + "Entries can either be a command alias, such as 'home', or a plugin id to include all of its commands.")
+    private List<String> threadSafeCommands = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public int getThreads() {
+        return Math.max(1, this.threads);
+    }
+
+    public int getTimeout() {
+        return Math.max(0, this.timeout);
+    }
+
+    public List<String> getThreadSafeCommands() {
+        return this.threadSafeCommands;
+    }
+}
@@ -59,6 +59,9 @@ public class CommandsCategory extends ConfigCategory {
             + "permission for")
     private CommandsHiddenCategory commandHiding = new CommandsHiddenCategory();
 
+    @Setting(value = "async-tab-completion", comment = "Completes the arguments of thread safe commands off the main thread.")
+    private AsyncTabCompletionCategory asyncTabCompletion = new AsyncTabCompletionCategory();
+
     public boolean isEnforcePermissionChecksOnNonSpongeCommands() {
         return this.enforcePermissionChecksOnNonSpongeCommands;
     }
@@ -75,4 +78,8 @@ public CommandsHiddenCategory getCommandHiding() {
         return this.commandHiding;
     }
 
+    public AsyncTabCompletionCategory getAsyncTabCompletion() {
+        return this.asyncTabCompletion;
+    }
+
 }
@@ -0,0 +1,54 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class ContainerSlotTrackingCategory extends ConfigCategory {
+
+    @Setting(value = "enabled", comment = ""
+            + "If 'true', the per tick check of a player's open container skips the slots of block and basic\n"
+            + "inventories (chests, furnaces, hoppers, ender chests...) until the inventory is marked dirty or the\n"
+            + "slot is changed through the container, and compares every slot once every 'full-scan-interval'\n"
+            + "ticks. Slots of other inventories, such as the player's own, are still compared every tick, as are\n"
+            + "all slots when handling clicks and other inventory packets. Changes made to those inventories\n"
+            + "without marking them dirty, such as mods editing an item in place or setting slot contents\n"
+            + "directly, may take up to that many ticks to show up on the client.")
+    private boolean enabled = false;
+
+    @Setting(value = "full-scan-interval", comment = ""
+            + "The amount of ticks between two checks of every slot of an open container. (Minimum: 1)")
+    private int fullScanInterval = 20;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public int getFullScanInterval() {
+        return Math.max(1, this.fullScanInterval);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class EntitySpatialHashCategory extends ConfigCategory {
+
+    @Setting(value = "enabled", comment = ""
+            + "If 'true', each world keeps its entities in a uniform grid that is updated as they move,\n"
+            + "which is then used to find nearby entities for collisions and entity cramming instead\n"
+            + "of scanning every entity of the surrounding chunk sections.\n"
+            + "This mostly helps with large amounts of entities packed into a few chunks, such as mob farms.")
+    private boolean enabled = false;
+
+    @Setting(value = "cell-size", comment = ""
+            + "The size, in blocks, of a grid cell. Entities wider or taller than a cell are checked\n"
+            + "on every query, so this should be at least as large as most of the entities in the world.\n"
+            + "The default of 2 fits every vanilla mob except a few large ones. (Minimum: 0.5)")
+    private double cellSize = 2.0D;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public double getCellSize() {
+        return Math.max(0.5D, this.cellSize);
+    }
+}
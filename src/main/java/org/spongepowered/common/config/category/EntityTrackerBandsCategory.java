@@ -0,0 +1,59 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class EntityTrackerBandsCategory extends ConfigCategory {
+
+    @Setting(value = "enabled", comment = ""
+            + "If 'true', players further away from a tracked entity than 'far-distance' only receive its\n"
+            + "position and rotation every 'far-update-interval' ticks, and the players watching an entity\n"
+            + "are only recomputed when it or a player crosses a chunk border instead of every 4 blocks moved.\n"
+            + "Entities may appear in view a little later than in vanilla.")
+    private boolean enabled = false;
+
+    @Setting(value = "far-distance", comment = ""
+            + "The horizontal distance, in blocks, from which players are considered far away from a tracked entity.")
+    private int farDistance = 48;
+
+    @Setting(value = "far-update-interval", comment = ""
+            + "The interval, in ticks, at which far away players receive the position of a moving entity. (Minimum: 1)")
+    private int farUpdateInterval = 10;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public int getFarDistance() {
+        return Math.max(0, this.farDistance);
+    }
+
+    public int getFarUpdateInterval() {
+        return Math.max(1, this.farUpdateInterval);
+    }
+}
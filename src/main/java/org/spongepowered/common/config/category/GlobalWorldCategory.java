@@ -49,6 +49,14 @@ public class GlobalWorldCategory extends WorldCategory {
             + "Finally, if set to 0 or less, the default interval will be used.")
     private int gameProfileQueryTaskInterval = 4;
 
+    @Setting(value = "gameprofile-lookup-batch-size", comment = ""
+            + "The maximum amount of queued GameProfile requests that are processed per interval. (Default: 1)\n"
+            + "Note: Every request in a batch is still a separate request to Mojang's session server, a batch\n"
+            + "does not mean fewer requests. Raising this multiplies the request rate of the interval above.\n"
+            + "Requests for the same unique id are only looked up once, and requests which can be answered\n"
+            + "by the profile cache are never queued. If set to 0 or less, the default batch size will be used.")
+    private int gameProfileQueryBatchSize = 1;
+
     @Setting(value = "invalid-lookup-uuids", comment = ""
             + "The list of uuid's that should never perform a lookup against Mojang's session server.\n"
             + "Note: If you are using SpongeForge, make sure to enter any mod fake player's UUID to this list.")
@@ -79,6 +87,13 @@ public int getGameProfileQueryTaskInterval() {
         return this.gameProfileQueryTaskInterval;
     }
 
+    public int getGameProfileQueryBatchSize() {
+        if (this.gameProfileQueryBatchSize <= 0) {
+            this.gameProfileQueryBatchSize = 1;
+        }
+        return this.gameProfileQueryBatchSize;
+    }
+
     public List<UUID> getInvalidLookupUuids() {
         return this.invalidLookupUuids;
     }
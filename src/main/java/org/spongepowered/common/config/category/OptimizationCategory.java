@@ -136,6 +136,31 @@ public class OptimizationCategory extends ConfigCategory {
     )
     private boolean disableRayTracingChunkLoads = false;
 
+    @Setting(value = "entity-spatial-hash", comment = "Uses a per world spatial hash to look up entities for collisions and cramming.")
+    private EntitySpatialHashCategory entitySpatialHashCategory = new EntitySpatialHashCategory();
+
+    @Setting(value = "scheduled-tick-queue", comment = ""
+            + "If 'true', pending scheduled block updates (from water, lava, redstone and the like) are kept\n"
+            + "in a queue bucketed by the tick they are scheduled for and indexed by chunk, instead of\n"
+            + "in a single sorted tree. This makes scheduling and saving chunks with many pending updates cheaper.\n"
+            + "Mods that directly access the pending updates of a world may not be compatible with this.")
+    private boolean scheduledTickQueue = false;
+
+    @Setting(value = "random-tick-bitmap", comment = ""
+            + "If 'true', each chunk section keeps a bitmap of the blocks within it that tick randomly,\n"
+            + "so random tick samples landing on blocks that never tick are skipped without a block lookup.\n"
+            + "Which blocks are picked and how often they tick is unchanged.")
+    private boolean randomTickBitmap = false;
+
+    @Setting(value = "container-slot-tracking", comment = "Only checks the changed slots of open containers every tick.")
+    private ContainerSlotTrackingCategory containerSlotTrackingCategory = new ContainerSlotTrackingCategory();
+
+    @Setting(value = "packet-batching", comment = "Flushes the connections of players once per tick instead of once per packet.")
+    private PacketBatchingCategory packetBatchingCategory = new PacketBatchingCategory();
+
+    @Setting(value = "entity-tracker-bands", comment = "Sends the movement of entities less often to players far away from them.")
+    private EntityTrackerBandsCategory entityTrackerBandsCategory = new EntityTrackerBandsCategory();
+
     public OptimizationCategory() {
         try {
             // Enabled by default on SpongeVanilla, disabled by default on SpongeForge.
@@ -230,4 +255,44 @@ public boolean isDisableRayTracingChunkLoads() {
         return this.disableRayTracingChunkLoads;
     }
 
+    public EntitySpatialHashCategory getEntitySpatialHashCategory() {
+        return this.entitySpatialHashCategory;
+    }
+
+    public boolean useEntitySpatialHash() {
+        return this.entitySpatialHashCategory.isEnabled();
+    }
+
+    public boolean useScheduledTickQueue() {
+        return this.scheduledTickQueue;
+    }
+
+    public boolean useRandomTickBitmap() {
+        return this.randomTickBitmap;
+    }
+
+    public ContainerSlotTrackingCategory getContainerSlotTrackingCategory() {
+        return this.containerSlotTrackingCategory;
+    }
+
+    public boolean useContainerSlotTracking() {
+        return this.containerSlotTrackingCategory.isEnabled();
+    }
+
+    public PacketBatchingCategory getPacketBatchingCategory() {
+        return this.packetBatchingCategory;
+    }
+
+    public boolean usePacketBatching() {
+        return this.packetBatchingCategory.isEnabled();
+    }
+
+    public EntityTrackerBandsCategory getEntityTrackerBandsCategory() {
+        return this.entityTrackerBandsCategory;
+    }
+
+    public boolean useEntityTrackerBands() {
+        return this.entityTrackerBandsCategory.isEnabled();
+    }
+
 }
@@ -45,6 +45,7 @@
 import org.spongepowered.common.config.category.SqlCategory;
 import org.spongepowered.common.config.category.TeleportHelperCategory;
 import org.spongepowered.common.util.IpSet;
+import org.spongepowered.common.util.IpSetTrie;
 
 import java.net.InetAddress;
 import java.util.HashMap;
@@ -75,6 +76,10 @@ public class GlobalConfig extends GeneralConfigBase {
             + "This can be used to restrict/grant permissions, based on the player's source or target ip.")
     private Map<String, List<IpSet>> ipSets = new HashMap<>();
 
+    // Compiled from the ip sets above, rebuilt when they are loaded again
+    @Nullable private IpSetTrie ipSetTrie;
+    @Nullable private Map<String, List<IpSet>> ipSetTrieSource;
+
     @Setting(value = "bungeecord", comment = ""
             + "Controls how Sponge interacts with server proxies, such as BungeeCord and Velocity.\n"
             + "Requires that the 'bungeecord' module is enabled.")
@@ -160,6 +165,14 @@ public Predicate<InetAddress> getIpSet(String name) {
         return this.ipSets.containsKey(name) ? Predicates.and(this.ipSets.get(name)) : null;
     }
 
+    public IpSetTrie getIpSetTrie() {
+        if (this.ipSetTrie == null || this.ipSetTrieSource != this.ipSets) {
+            this.ipSetTrie = IpSetTrie.compile(this.ipSets);
+            this.ipSetTrieSource = this.ipSets;
+        }
+        return this.ipSetTrie;
+    }
+
     @Override
     public GlobalGeneralCategory getGeneral() {
         return this.general;
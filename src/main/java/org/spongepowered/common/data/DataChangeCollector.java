@@ -0,0 +1,184 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectLinkedOpenHashMap;
+import org.spongepowered.api.data.DataHolder;
+import org.spongepowered.api.data.DataTransactionResult;
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.value.immutable.ImmutableValue;
+import org.spongepowered.api.event.EventListener;
+import org.spongepowered.api.event.SpongeEventFactory;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
+import org.spongepowered.api.event.data.ChangeDataHolderEvent;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Collects the changes of subscribed {@link Key}s made during a tick, both
+ * from entity data parameters and from offers to data holders, and delivers
+ * them to the subscribers as one {@link ChangeDataHolderEvent.ValueChange}
+ * per holder at the end of the tick.
+ *
+ * <p>If a key changed several times during a tick, the coalesced result
+ * replaces the value from before the first change with the value from the
+ * last one. Keys that end up at their original value are left out. These
+ * events are only seen by the coalesced subscribers, they are not posted to
+ * the event manager and cannot be cancelled.</p>
+ */
+public final class DataChangeCollector {
+
+    private static final Map<Key<?>, List<KeyBasedDataListener<?>>> subscribers = new ConcurrentHashMap<>();
+    private static Reference2ObjectLinkedOpenHashMap<DataHolder, Map<Key<?>, Change>> pending = new Reference2ObjectLinkedOpenHashMap<>();
+    private static volatile boolean active;
+
+    /**
+     * Subscribes to coalesced changes of the given key.
+     *
+     * @param key The key to listen to
+     * @param holderFilter The type of holders to listen to
+     * @param listener The listener receiving one event per holder and tick
+     * @param owner The plugin owning the listener
+     * @param <E> The type of holder
+     */
+    public static <E extends DataHolder> void subscribe(final Key<?> key, final Class<E> holderFilter,
+            final EventListener<ChangeDataHolderEvent.ValueChange> listener, final PluginContainer owner) {
+        DataChangeCollector.subscribers.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>())
+                .add(new KeyBasedDataListener<>(holderFilter, key, listener, owner));
+        DataChangeCollector.active = true;
+    }
+
+    /**
+     * Records the successful changes of a transaction made to the holder, if
+     * any of the changed keys are subscribed to.
+     *
+     * @param holder The holder that was changed
+     * @param result The result of the change
+     */
+    public static void record(final DataHolder holder, final DataTransactionResult result) {
+        if (!DataChangeCollector.active || result.getSuccessfulData().isEmpty() || !SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+            return;
+        }
+        DataChangeCollector.collect(holder, result);
+    }
+
+    // Records the changes regardless of the thread, split from record for tests
+    static void collect(final DataHolder holder, final DataTransactionResult result) {
+        Map<Key<?>, Change> changes = null;
+        for (final ImmutableValue<?> value : result.getSuccessfulData()) {
+            if (!DataChangeCollector.subscribers.containsKey(value.getKey())) {
+                continue;
+            }
+            if (changes == null) {
+                changes = DataChangeCollector.pending.computeIfAbsent(holder, h -> new LinkedHashMap<>());
+            }
+            final Change change = changes.get(value.getKey());
+            if (change == null) {
+                changes.put(value.getKey(), new Change(DataChangeCollector.findReplaced(result, value.getKey()), value));
+            } else {
+                change.current = value;
+            }
+        }
+    }
+
+    private static ImmutableValue<?> findReplaced(final DataTransactionResult result, final Key<?> key) {
+        for (final ImmutableValue<?> replaced : result.getReplacedData()) {
+            if (replaced.getKey() == key) {
+                return replaced;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Delivers the changes collected during this tick. Called at the end of
+     * every server tick. Changes made by the subscribers while they are
+     * notified are delivered on the next tick.
+     */
+    public static void flush() {
+        if (DataChangeCollector.pending.isEmpty()) {
+            return;
+        }
+        final Reference2ObjectLinkedOpenHashMap<DataHolder, Map<Key<?>, Change>> delivered = DataChangeCollector.pending;
+        DataChangeCollector.pending = new Reference2ObjectLinkedOpenHashMap<>();
+        final Cause cause = Cause.of(EventContext.empty(), SpongeImpl.getGame());
+        while (!delivered.isEmpty()) {
+            final DataHolder holder = delivered.firstKey();
+            final Map<Key<?>, Change> changes = delivered.removeFirst();
+            final DataTransactionResult.Builder builder = DataTransactionResult.builder().result(DataTransactionResult.Type.SUCCESS);
+            final List<KeyBasedDataListener<?>> listeners = new ArrayList<>();
+            for (final Map.Entry<Key<?>, Change> entry : changes.entrySet()) {
+                final Change change = entry.getValue();
+                if (change.original != null && change.original.get().equals(change.current.get())) {
+                    continue;
+                }
+                builder.success(change.current);
+                if (change.original != null) {
+                    builder.replace(change.original);
+                }
+                for (final KeyBasedDataListener<?> listener : DataChangeCollector.subscribers.get(entry.getKey())) {
+                    if (!listeners.contains(listener)) {
+                        listeners.add(listener);
+                    }
+                }
+            }
+            if (listeners.isEmpty()) {
+                continue;
+            }
+            final ChangeDataHolderEvent.ValueChange event =
+                    SpongeEventFactory.createChangeDataHolderEventValueChange(cause, builder.build(), holder);
+            for (final KeyBasedDataListener<?> listener : listeners) {
+                try {
+                    listener.handle(event);
+                } catch (Exception e) {
+                    SpongeImpl.getLogger().error("Could not pass coalesced {} to {}", event.getClass().getSimpleName(),
+                            listener.getOwner().getId(), e);
+                }
+            }
+        }
+    }
+
+    private static final class Change {
+
+        final ImmutableValue<?> original;
+        ImmutableValue<?> current;
+
+        Change(final ImmutableValue<?> original, final ImmutableValue<?> current) {
+            this.original = original;
+            this.current = current;
+        }
+    }
+
+    private DataChangeCollector() {
+    }
+}
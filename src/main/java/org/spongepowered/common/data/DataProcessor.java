@@ -57,6 +57,19 @@
 
     boolean supports(EntityType entityType);
 
+    /**
+     * Checks if instances of the provided {@link DataHolder} class could ever
+     * be supported by this {@link DataProcessor}. A {@code false} result
+     * allows the processor to be skipped entirely for holders of that class,
+     * {@link #supports(DataHolder)} is still checked for every other holder.
+     *
+     * @param holderClass The concrete class of the data holder
+     * @return False if the holder class can never be supported
+     */
+    default boolean supportsHolderClass(Class<?> holderClass) {
+        return true;
+    }
+
     /**
      * Attempts to get the given {@link DataManipulator} of type {@code T} if
      * and only if the manipulator's required data exists from the
@@ -0,0 +1,86 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.value.BaseValue;
+
+import java.util.Optional;
+
+/**
+ * The root of a {@link FrozenDataView} tree.
+ */
+public final class FrozenDataContainer extends FrozenDataView implements DataContainer {
+
+    /**
+     * Creates a read only copy of the provided {@link DataView}, the view
+     * itself is returned if it is already frozen.
+     *
+     * @param view The view to freeze
+     * @return The frozen container
+     */
+    public static FrozenDataContainer freeze(final DataView view) {
+        checkNotNull(view, "view");
+        if (view instanceof FrozenDataContainer) {
+            return (FrozenDataContainer) view;
+        }
+        return new FrozenDataContainer(view);
+    }
+
+    private FrozenDataContainer(final DataView source) {
+        super(source);
+    }
+
+    @Override
+    public Optional<DataView> getParent() {
+        return Optional.empty();
+    }
+
+    @Override
+    public DataContainer getContainer() {
+        return this;
+    }
+
+    @Override
+    public DataContainer set(final DataQuery path, final Object value) {
+        throw new UnsupportedOperationException("This DataContainer is frozen, use copy() for a mutable copy");
+    }
+
+    @Override
+    public <E> DataContainer set(final Key<? extends BaseValue<E>> key, final E value) {
+        throw new UnsupportedOperationException("This DataContainer is frozen, use copy() for a mutable copy");
+    }
+
+    @Override
+    public DataContainer remove(final DataQuery path) {
+        throw new UnsupportedOperationException("This DataContainer is frozen, use copy() for a mutable copy");
+    }
+
+}
@@ -0,0 +1,329 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.spongepowered.api.data.DataQuery.of;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.apache.commons.lang3.ArrayUtils;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+/**
+ * A read only {@link DataView} storing its entries in a flat array of
+ * interned keys with a parallel array of values, meant for data that is
+ * written once and read many times. Any attempt to modify it throws an
+ * {@link UnsupportedOperationException}, {@link #copy()} gives a mutable
+ * copy.
+ */
+public class FrozenDataView extends MemoryDataView {
+
+    private static final Interner<String> KEY_INTERNER = Interners.newWeakInterner();
+    private static final String[] NO_KEYS = new String[0];
+    private static final Object[] NO_VALUES = new Object[0];
+    // Below this many entries a linear scan over the interned keys beats hashing
+    private static final int INDEX_THRESHOLD = 8;
+
+    private final String[] keys;
+    private final Object[] values;
+    // Open addressed table of index + 1 in to keys, only present for larger views
+    @Nullable private final int[] index;
+
+    FrozenDataView(final DataView source) {
+        super(SafetyMode.ALL_DATA_CLONED);
+        this.keys = collectKeys(source);
+        this.values = collectValues(source, this.keys);
+        this.index = createIndex(this.keys);
+    }
+
+    private FrozenDataView(final DataView parent, final DataQuery path, final DataView source) {
+        super(parent, path, SafetyMode.ALL_DATA_CLONED);
+        this.keys = collectKeys(source);
+        this.values = collectValues(source, this.keys);
+        this.index = createIndex(this.keys);
+    }
+
+    private static String[] collectKeys(final DataView source) {
+        final Set<DataQuery> queries = source.getKeys(false);
+        if (queries.isEmpty()) {
+            return NO_KEYS;
+        }
+        final String[] keys = new String[queries.size()];
+        int i = 0;
+        for (final DataQuery query : queries) {
+            keys[i++] = KEY_INTERNER.intern(query.getParts().get(0));
+        }
+        return keys;
+    }
+
+    private Object[] collectValues(final DataView source, final String[] keys) {
+        if (keys.length == 0) {
+            return NO_VALUES;
+        }
+        final Object[] values = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            final DataQuery query = of(keys[i]);
+            final Object value = source.get(query).get();
+            values[i] = value instanceof DataView ? new FrozenDataView(this, query, (DataView) value) : freezeValue(value);
+        }
+        return values;
+    }
+
+    @Nullable
+    private static int[] createIndex(final String[] keys) {
+        if (keys.length < INDEX_THRESHOLD) {
+            return null;
+        }
+        final int[] index = new int[Integer.highestOneBit(keys.length * 2 - 1) << 1];
+        final int mask = index.length - 1;
+        for (int i = 0; i < keys.length; i++) {
+            int slot = keys[i].hashCode() & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = i + 1;
+        }
+        return index;
+    }
+
+    private static Object freezeValue(final Object value) {
+        if (value instanceof DataView) {
+            return FrozenDataContainer.freeze((DataView) value);
+        } else if (value instanceof Collection) {
+            final ImmutableList.Builder<Object> builder = ImmutableList.builder();
+            for (final Object element : (Collection<?>) value) {
+                builder.add(freezeValue(element));
+            }
+            return builder.build();
+        } else if (value instanceof Map) {
+            final ImmutableMap.Builder<Object, Object> builder = ImmutableMap.builder();
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                builder.put(entry.getKey(), freezeValue(entry.getValue()));
+            }
+            return builder.build();
+        } else if (value.getClass().isArray()) {
+            return cloneArray(value);
+        }
+        return value;
+    }
+
+    private static Object cloneArray(final Object array) {
+        if (array instanceof byte[]) {
+            return ArrayUtils.clone((byte[]) array);
+        } else if (array instanceof short[]) {
+            return ArrayUtils.clone((short[]) array);
+        } else if (array instanceof int[]) {
+            return ArrayUtils.clone((int[]) array);
+        } else if (array instanceof long[]) {
+            return ArrayUtils.clone((long[]) array);
+        } else if (array instanceof float[]) {
+            return ArrayUtils.clone((float[]) array);
+        } else if (array instanceof double[]) {
+            return ArrayUtils.clone((double[]) array);
+        } else if (array instanceof boolean[]) {
+            return ArrayUtils.clone((boolean[]) array);
+        } else if (array instanceof char[]) {
+            return ArrayUtils.clone((char[]) array);
+        }
+        return ArrayUtils.clone((Object[]) array);
+    }
+
+    private int indexOf(final String key) {
+        final String[] keys = this.keys;
+        if (this.index == null) {
+            // Interned keys usually match by identity, fall back to equals for keys from elsewhere
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return i;
+                }
+            }
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        final int mask = this.index.length - 1;
+        int slot = key.hashCode() & mask;
+        int entry;
+        while ((entry = this.index[slot]) != 0) {
+            final String candidate = keys[entry - 1];
+            if (candidate == key || candidate.equals(key)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    @Nullable
+    private Object getRaw(final String key) {
+        final int i = indexOf(key);
+        return i < 0 ? null : this.values[i];
+    }
+
+    @Override
+    public Set<DataQuery> getKeys(final boolean deep) {
+        final ImmutableSet.Builder<DataQuery> builder = ImmutableSet.builder();
+        for (final String key : this.keys) {
+            builder.add(of(key));
+        }
+        if (deep) {
+            for (int i = 0; i < this.keys.length; i++) {
+                if (this.values[i] instanceof DataView) {
+                    final DataQuery key = of(this.keys[i]);
+                    for (final DataQuery query : ((DataView) this.values[i]).getKeys(true)) {
+                        builder.add(key.then(query));
+                    }
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public boolean contains(final DataQuery path) {
+        checkNotNull(path, "path");
+        final List<String> parts = path.getParts();
+        FrozenDataView view = this;
+        for (int i = 0; i < parts.size(); i++) {
+            final Object value = view.getRaw(parts.get(i));
+            if (value == null) {
+                return false;
+            }
+            if (i == parts.size() - 1) {
+                return true;
+            }
+            if (!(value instanceof FrozenDataView)) {
+                return false;
+            }
+            view = (FrozenDataView) value;
+        }
+        return true;
+    }
+
+    @Override
+    public Optional<Object> get(final DataQuery path) {
+        checkNotNull(path, "path");
+        final List<String> parts = path.getParts();
+        Object value = this;
+        for (final String part : parts) {
+            if (!(value instanceof FrozenDataView)) {
+                return Optional.empty();
+            }
+            value = ((FrozenDataView) value).getRaw(part);
+            if (value == null) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(value.getClass().isArray() ? cloneArray(value) : value);
+    }
+
+    @Override
+    public DataView set(final DataQuery path, final Object value) {
+        throw new UnsupportedOperationException("This DataView is frozen, use copy() for a mutable copy");
+    }
+
+    @Override
+    public DataView remove(final DataQuery path) {
+        throw new UnsupportedOperationException("This DataView is frozen, use copy() for a mutable copy");
+    }
+
+    @Override
+    public DataView createView(final DataQuery path) {
+        throw new UnsupportedOperationException("This DataView is frozen, use copy() for a mutable copy");
+    }
+
+    @Override
+    public DataView createView(final DataQuery path, final Map<?, ?> map) {
+        throw new UnsupportedOperationException("This DataView is frozen, use copy() for a mutable copy");
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.keys.length == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        // Independent of the entry order, same as a map
+        int hash = 0;
+        for (int i = 0; i < this.keys.length; i++) {
+            hash += this.keys[i].hashCode() ^ Arrays.deepHashCode(new Object[] {this.values[i]});
+        }
+        return 31 * hash + getCurrentPath().hashCode();
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final FrozenDataView other = (FrozenDataView) obj;
+        if (this.keys.length != other.keys.length || !getCurrentPath().equals(other.getCurrentPath())) {
+            return false;
+        }
+        for (int i = 0; i < this.keys.length; i++) {
+            final int j = other.indexOf(this.keys[i]);
+            if (j < 0 || !Objects.deepEquals(this.values[i], other.values[j])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        final MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper(this);
+        if (!getCurrentPath().toString().isEmpty()) {
+            helper.add("path", getCurrentPath());
+        }
+        for (int i = 0; i < this.keys.length; i++) {
+            helper.add(this.keys[i], this.values[i]);
+        }
+        return helper.toString();
+    }
+
+}
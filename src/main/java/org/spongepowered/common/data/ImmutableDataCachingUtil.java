@@ -24,22 +24,32 @@
  */
 package org.spongepowered.common.data;
 
-import static org.spongepowered.common.util.ReflectionUtil.createUnsafeInstance;
-
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import org.spongepowered.api.CatalogType;
+import com.google.common.cache.CacheStats;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.value.BaseValue;
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.util.ReflectionUtil;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 
+import javax.annotation.Nullable;
+
 public final class ImmutableDataCachingUtil {
 
     private ImmutableDataCachingUtil() {}
@@ -48,16 +58,33 @@ private ImmutableDataCachingUtil() {}
     public static final int MANIPULATOR_CACHE_LIMIT = 100000;
     public static final int VALUE_CACHE_LIMIT = 100000;
 
-    private static final Cache<String, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
+    private static final MethodType SPREAD_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodHandle FLATTEN;
+
+    static {
+        try {
+            FLATTEN = MethodHandles.lookup().findStatic(ImmutableDataCachingUtil.class, "flatten",
+                MethodType.methodType(Object[].class, Object[].class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final Cache<ManipulatorKey, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
         .maximumSize(MANIPULATOR_CACHE_LIMIT)
         .concurrencyLevel(4)
+        .recordStats()
         .build();
 
-    private static final Cache<String, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
+    private static final Cache<ValueKey, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
         .concurrencyLevel(4)
         .maximumSize(VALUE_CACHE_LIMIT)
+        .recordStats()
         .build();
 
+    // Constructors resolved for a class and the runtime types of the arguments passed to it
+    private static final Map<ConstructorKey, MethodHandle> constructorCache = new ConcurrentHashMap<>();
+
     /**
      * Retrieves a basic manipulator from {@link Cache}. If the {@link Cache}
      * does not have the desired {@link ImmutableDataManipulator} with relative
@@ -75,14 +102,14 @@ private ImmutableDataCachingUtil() {}
      */
     @SuppressWarnings("unchecked")
     public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object... args) {
-        final String key = getKey(immutableClass, args);
+        final ManipulatorKey key = new ManipulatorKey(immutableClass, args);
         // We can't really use the generic typing here because it's complicated...
         try {
             // Let's get the key
             return (T) ImmutableDataCachingUtil.manipulatorCache.get(key, (Callable<ImmutableDataManipulator<?, ?>>) () -> {
                     try {
-                        return createUnsafeInstance(immutableClass, args);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                        return construct(immutableClass, args);
+                    } catch (Throwable e) {
                         SpongeImpl.getLogger().error("Could not construct an ImmutableDataManipulator: " + immutableClass.getCanonicalName() + " with the args: "
                                                      + Arrays.toString(args), e);
                     }
@@ -97,15 +124,15 @@ private ImmutableDataCachingUtil() {}
     @SuppressWarnings("unchecked")
     public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
             final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg, final Object... extraArgs) {
-        final String key = getKey(valueClass, usedKey.getQuery().asString('.'), arg.getClass(), arg);
+        final ValueKey key = new ValueKey(valueClass, usedKey, defaultArg, arg);
         try {
             return (T) ImmutableDataCachingUtil.valueCache.get(key, (Callable<ImmutableValue<?>>) () -> {
                     try {
                         if (extraArgs == null || extraArgs.length == 0) {
-                            return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
+                            return construct(valueClass, usedKey, defaultArg, arg);
                         }
-                        return createUnsafeInstance(valueClass, usedKey, defaultArg, arg, extraArgs);
-                    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                        return construct(valueClass, usedKey, defaultArg, arg, extraArgs);
+                    } catch (Throwable e) {
                         SpongeImpl.getLogger().error("Could not construct an ImmutableValue: " + valueClass.getCanonicalName(), e);
                     }
                     throw new UnsupportedOperationException("Could not construct the ImmutableValue: " + valueClass.getName());
@@ -115,15 +142,170 @@ public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T ge
         }
     }
 
-    private static String getKey(final Class<?> immutableClass, final Object... args) {
-        final StringBuilder builder = new StringBuilder(immutableClass.getCanonicalName() + ":");
-        for (Object object : args) {
-            if (object instanceof CatalogType) {
-                builder.append("{").append(((CatalogType) object).getId()).append("}");
+    public static CacheStats getManipulatorCacheStats() {
+        return ImmutableDataCachingUtil.manipulatorCache.stats();
+    }
+
+    public static CacheStats getValueCacheStats() {
+        return ImmutableDataCachingUtil.valueCache.stats();
+    }
+
+    /**
+     * Constructs a new instance through a {@link MethodHandle} resolved once
+     * per class and argument types, following the same constructor lookup
+     * as {@link ReflectionUtil#createUnsafeInstance(Class, Object...)},
+     * including its retry with the nested argument arrays spread out.
+     */
+    private static <T> T construct(final Class<T> objectClass, final Object... args) throws Throwable {
+        final Object[] arguments = args == null ? new Object[] {null} : args;
+        final ConstructorKey key = new ConstructorKey(objectClass, arguments);
+        MethodHandle handle = ImmutableDataCachingUtil.constructorCache.get(key);
+        if (handle != null) {
+            return objectClass.cast((Object) handle.invokeExact(arguments));
+        }
+        final Constructor<T> constructor = ReflectionUtil.findConstructor(objectClass, arguments);
+        final MethodHandle direct = MethodHandles.publicLookup().unreflectConstructor(constructor)
+            .asSpreader(Object[].class, constructor.getParameterCount())
+            .asType(SPREAD_CONSTRUCTOR_TYPE);
+        // The constructor may have been matched against the nested argument arrays spread out
+        final MethodHandle flattened = MethodHandles.filterArguments(direct, 0, FLATTEN);
+        Object instance;
+        if (constructor.getParameterCount() != arguments.length) {
+            handle = flattened;
+            instance = handle.invokeExact(arguments);
+        } else {
+            try {
+                handle = direct;
+                instance = handle.invokeExact(arguments);
+            } catch (ClassCastException | WrongMethodTypeException | NullPointerException e) {
+                // Same arity but other types, retry spread out like createUnsafeInstance does
+                handle = flattened;
+                instance = handle.invokeExact(arguments);
+            }
+        }
+        ImmutableDataCachingUtil.constructorCache.put(key, handle);
+        return objectClass.cast(instance);
+    }
+
+    private static Object[] flatten(final Object[] objects) {
+        return flatten(objects, new ArrayList<>()).toArray();
+    }
+
+    private static List<Object> flatten(final Object[] objects, final List<Object> list) {
+        for (final Object object : objects) {
+            if (object != null && object.getClass().isArray()) {
+                flatten((Object[]) object, list);
             } else {
-                builder.append("{").append(object.toString()).append("}");
+                list.add(object);
             }
         }
-        return builder.toString();
+        return list;
+    }
+
+    private static final class ManipulatorKey {
+
+        private final Class<?> type;
+        private final Object[] args;
+        private final int hash;
+
+        ManipulatorKey(final Class<?> type, final Object[] args) {
+            this.type = type;
+            this.args = args;
+            this.hash = 31 * type.hashCode() + Arrays.deepHashCode(args);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ManipulatorKey)) {
+                return false;
+            }
+            final ManipulatorKey other = (ManipulatorKey) o;
+            return this.hash == other.hash && this.type == other.type && Arrays.deepEquals(this.args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    private static final class ValueKey {
+
+        private final Class<?> type;
+        private final Key<?> key;
+        @Nullable private final Object defaultValue;
+        private final Object value;
+        private final int hash;
+
+        ValueKey(final Class<?> type, final Key<?> key, @Nullable final Object defaultValue, final Object value) {
+            this.type = type;
+            this.key = key;
+            this.defaultValue = defaultValue;
+            this.value = value;
+            int hash = type.hashCode();
+            hash = 31 * hash + System.identityHashCode(key);
+            hash = 31 * hash + Objects.hashCode(defaultValue);
+            this.hash = 31 * hash + value.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ValueKey)) {
+                return false;
+            }
+            final ValueKey other = (ValueKey) o;
+            return this.hash == other.hash
+                   && this.type == other.type
+                   && this.key == other.key
+                   && this.value.getClass() == other.value.getClass()
+                   && this.value.equals(other.value)
+                   && Objects.equals(this.defaultValue, other.defaultValue);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    private static final class ConstructorKey {
+
+        private final Class<?> type;
+        private final Class<?>[] argTypes;
+        private final int hash;
+
+        ConstructorKey(final Class<?> type, final Object[] args) {
+            this.type = type;
+            this.argTypes = new Class<?>[args.length];
+            for (int i = 0; i < args.length; i++) {
+                if (args[i] != null) {
+                    this.argTypes[i] = args[i].getClass();
+                }
+            }
+            this.hash = 31 * type.hashCode() + Arrays.hashCode(this.argTypes);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ConstructorKey)) {
+                return false;
+            }
+            final ConstructorKey other = (ConstructorKey) o;
+            return this.type == other.type && Arrays.equals(this.argTypes, other.argTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
     }
 }
@@ -81,7 +81,7 @@ public class MemoryDataView implements DataView {
         this.safety = checkNotNull(safety, "Safety mode");
     }
 
-    private MemoryDataView(DataView parent, DataQuery path, DataView.SafetyMode safety) {
+    MemoryDataView(DataView parent, DataQuery path, DataView.SafetyMode safety) {
         checkArgument(path.getParts().size() >= 1, "Path must have at least one part");
         this.parent = parent;
         this.container = parent.getContainer();
@@ -144,7 +144,7 @@ public Map<DataQuery, Object> getValues(boolean deep) {
     }
 
     @Override
-    public final boolean contains(DataQuery path) {
+    public boolean contains(DataQuery path) {
         checkNotNull(path, "path");
         List<String> queryParts = path.getParts();
 
@@ -90,6 +90,19 @@ public <E extends DataHolder> void registerEvent(Class<E> holderFilter, EventLis
         this.listeners.add(new KeyBasedDataListener<>(holderFilter, this, listener, getCurrentContainer()));
     }
 
+    /**
+     * Registers a listener receiving the changes of this key coalesced into
+     * one event per holder at the end of each tick, instead of one event per
+     * change. See {@link DataChangeCollector}.
+     *
+     * @param holderFilter The type of holders to listen to
+     * @param listener The listener
+     * @param <E> The type of holder
+     */
+    public <E extends DataHolder> void registerCoalescedEvent(Class<E> holderFilter, EventListener<ChangeDataHolderEvent.ValueChange> listener) {
+        DataChangeCollector.subscribe(this, holderFilter, listener, getCurrentContainer());
+    }
+
     @Override
     public String getId() {
         return this.id;
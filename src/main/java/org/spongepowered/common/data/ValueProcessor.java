@@ -139,6 +139,20 @@
      */
     boolean supports(ValueContainer<?> container);
 
+    /**
+     * Checks if instances of the provided {@link ValueContainer} class could
+     * ever be supported by this {@link ValueProcessor}. A {@code false}
+     * result allows the processor to be skipped entirely for containers of
+     * that class, {@link #supports(ValueContainer)} is still checked for
+     * every other container.
+     *
+     * @param containerClass The concrete class of the value container
+     * @return False if the container class can never be supported
+     */
+    default boolean supportsContainerClass(Class<?> containerClass) {
+        return true;
+    }
+
     /**
      * Offers the provided {@link BaseValue} containing a value of the
      * appropriate value type of this {@link ValueProcessor} to offer
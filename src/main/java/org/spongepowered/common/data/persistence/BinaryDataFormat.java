@@ -0,0 +1,97 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import com.google.common.io.ByteStreams;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.api.data.persistence.DataFormat;
+import org.spongepowered.api.data.persistence.InvalidDataFormatException;
+import org.spongepowered.common.SpongeCatalogType;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A compact binary {@link DataFormat}. Numbers are stored as varints and
+ * every entry name is only stored once per stream, which keeps the output
+ * small for large containers repeating the same structure. Data is written
+ * straight from the {@link DataView} and read straight into a new
+ * {@link DataContainer}, see {@link BinaryDataWriter} for the layout.
+ */
+public class BinaryDataFormat extends SpongeCatalogType implements DataFormat {
+
+    private static final int MAGIC = 0x53504442; // SPDB
+    private static final byte VERSION = 1;
+
+    public BinaryDataFormat(String id) {
+        super(id);
+    }
+
+    @Override
+    public DataContainer readFrom(InputStream input) throws InvalidDataFormatException, IOException {
+        try {
+            return this.readFrom(ByteBuffer.wrap(ByteStreams.toByteArray(input)));
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Reads a container from the buffer, starting at its current position.
+     * Strings are decoded directly from the buffer without copying.
+     *
+     * @param buffer The buffer to read from
+     * @return The read container
+     * @throws InvalidDataFormatException If the buffer does not hold data in this format
+     * @throws IOException If the data is malformed
+     */
+    public DataContainer readFrom(ByteBuffer buffer) throws InvalidDataFormatException, IOException {
+        if (buffer.remaining() < 5 || buffer.getInt() != MAGIC) {
+            throw new InvalidDataFormatException("Not data in the binary format");
+        }
+        final byte version = buffer.get();
+        if (version != VERSION) {
+            throw new InvalidDataFormatException("Unsupported binary format version " + version);
+        }
+        final DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        DataStreams.visit(buffer, new DataViewWriter(container));
+        return container;
+    }
+
+    @Override
+    public void writeTo(OutputStream output, DataView data) throws IOException {
+        try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(output))) {
+            dos.writeInt(MAGIC);
+            dos.writeByte(VERSION);
+            DataStreams.visit(data, new BinaryDataWriter(dos));
+        }
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link DataVisitor} writing the format of {@link BinaryDataFormat}.
+ *
+ * <p>Every value is a one byte tag followed by its payload. Integral numbers
+ * and lengths are zig-zag encoded varints. Entry names are written once per
+ * stream, later occurrences only refer to them by their index.</p>
+ */
+public final class BinaryDataWriter implements DataVisitor {
+
+    static final byte END = 0;
+    static final byte NULL = 1;
+    static final byte FALSE = 2;
+    static final byte TRUE = 3;
+    static final byte BYTE = 4;
+    static final byte SHORT = 5;
+    static final byte INT = 6;
+    static final byte LONG = 7;
+    static final byte FLOAT = 8;
+    static final byte DOUBLE = 9;
+    static final byte STRING = 10;
+    static final byte BYTE_ARRAY = 11;
+    static final byte INT_ARRAY = 12;
+    static final byte LONG_ARRAY = 13;
+    static final byte VIEW = 14;
+    static final byte LIST = 15;
+
+    private final DataOutput output;
+    private final Object2IntMap<String> names = new Object2IntOpenHashMap<>();
+    @Nullable private String pendingName;
+    // Whether each open list has an unknown size and has to be terminated
+    private boolean[] unsizedLists = new boolean[8];
+    private int listDepth;
+
+    public BinaryDataWriter(final DataOutput output) {
+        this.output = output;
+        this.names.defaultReturnValue(-1);
+    }
+
+    private void tag(final byte tag) throws IOException {
+        this.output.writeByte(tag);
+        if (this.pendingName != null) {
+            final int index = this.names.getInt(this.pendingName);
+            if (index == -1) {
+                // 0 introduces a new name, which gets the next index
+                this.writeVarInt(0);
+                this.writeString(this.pendingName);
+                this.names.put(this.pendingName, this.names.size() + 1);
+            } else {
+                this.writeVarInt(index);
+            }
+            this.pendingName = null;
+        }
+    }
+
+    @Override
+    public void beginView() throws IOException {
+        this.tag(VIEW);
+    }
+
+    @Override
+    public void name(final String name) {
+        this.pendingName = name;
+    }
+
+    @Override
+    public void value(@Nullable final Object value) throws IOException {
+        if (value == null) {
+            this.tag(NULL);
+        } else if (value instanceof Boolean) {
+            this.tag((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Byte) {
+            this.tag(BYTE);
+            this.output.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            this.tag(SHORT);
+            this.writeVarInt(zigZag((Short) value));
+        } else if (value instanceof Integer) {
+            this.tag(INT);
+            this.writeVarInt(zigZag((Integer) value));
+        } else if (value instanceof Long) {
+            this.tag(LONG);
+            this.writeVarLong(zigZag((Long) value));
+        } else if (value instanceof Float) {
+            this.tag(FLOAT);
+            this.output.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            this.tag(DOUBLE);
+            this.output.writeDouble((Double) value);
+        } else if (value instanceof String) {
+            this.tag(STRING);
+            this.writeString((String) value);
+        } else if (value instanceof byte[]) {
+            final byte[] array = (byte[]) value;
+            this.tag(BYTE_ARRAY);
+            this.writeVarInt(array.length);
+            this.output.write(array);
+        } else if (value instanceof int[]) {
+            final int[] array = (int[]) value;
+            this.tag(INT_ARRAY);
+            this.writeVarInt(array.length);
+            for (final int i : array) {
+                this.writeVarInt(zigZag(i));
+            }
+        } else if (value instanceof long[]) {
+            final long[] array = (long[]) value;
+            this.tag(LONG_ARRAY);
+            this.writeVarInt(array.length);
+            for (final long l : array) {
+                this.writeVarLong(zigZag(l));
+            }
+        } else {
+            throw new IllegalArgumentException("Unable to write object in binary format: " + value);
+        }
+    }
+
+    @Override
+    public void beginList(final int size) throws IOException {
+        this.tag(LIST);
+        // 0 marks a list of unknown size, terminated by an END tag
+        this.writeVarInt(size + 1);
+        if (this.listDepth == this.unsizedLists.length) {
+            final boolean[] unsizedLists = new boolean[this.listDepth * 2];
+            System.arraycopy(this.unsizedLists, 0, unsizedLists, 0, this.listDepth);
+            this.unsizedLists = unsizedLists;
+        }
+        this.unsizedLists[this.listDepth++] = size < 0;
+    }
+
+    @Override
+    public void endList() throws IOException {
+        if (this.unsizedLists[--this.listDepth]) {
+            this.output.writeByte(END);
+        }
+    }
+
+    @Override
+    public void endView() throws IOException {
+        this.output.writeByte(END);
+    }
+
+    private void writeString(final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        this.writeVarInt(bytes.length);
+        this.output.write(bytes);
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            this.output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        this.output.writeByte(value);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            this.output.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        this.output.writeByte((int) value);
+    }
+
+    private static int zigZag(final int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+}
@@ -134,7 +134,7 @@ public void translateDataToNode(ConfigurationNode node, DataView view) {
      * @param value Source value
      */
     @SuppressWarnings({"rawtypes", "unchecked"})
-    private void valueToNode(ConfigurationNode node, @Nullable Object value) {
+    void valueToNode(ConfigurationNode node, @Nullable Object value) {
         if (value instanceof DataView) {
             translateDataToNode(node, (DataView) value);
         } else if (value instanceof Collection<?>) {
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import ninja.leaping.configurate.ConfigurationNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link DataVisitor} that builds a {@link ConfigurationNode}. Values are
+ * converted the same way as {@link ConfigurateTranslator} does.
+ */
+public final class ConfigurationNodeDataWriter implements DataVisitor {
+
+    private final ConfigurationNode root;
+    private final List<ConfigurationNode> stack = new ArrayList<>();
+    @Nullable private String pendingKey;
+
+    /**
+     * Creates a writer setting the visited root entries on the provided node.
+     *
+     * @param root The node to write to
+     */
+    public ConfigurationNodeDataWriter(final ConfigurationNode root) {
+        this.root = root;
+    }
+
+    public ConfigurationNode getRoot() {
+        return this.root;
+    }
+
+    private ConfigurationNode next() {
+        checkState(!this.stack.isEmpty(), "Values can only be visited in views or lists");
+        final ConfigurationNode parent = this.stack.get(this.stack.size() - 1);
+        if (parent.isList()) {
+            return parent.appendListNode();
+        }
+        checkState(this.pendingKey != null, "No name was visited in the current view");
+        final ConfigurationNode node = parent.getNode(this.pendingKey);
+        this.pendingKey = null;
+        return node;
+    }
+
+    @Override
+    public void beginView() {
+        final ConfigurationNode node = this.stack.isEmpty() ? this.root : next();
+        if (node.getChildrenMap().isEmpty()) {
+            node.setValue(ImmutableMap.of());
+        }
+        this.stack.add(node);
+    }
+
+    @Override
+    public void name(final String name) {
+        this.pendingKey = name;
+    }
+
+    @Override
+    public void value(@Nullable final Object value) {
+        ConfigurateTranslator.instance().valueToNode(next(), value);
+    }
+
+    @Override
+    public void beginList(final int size) {
+        final ConfigurationNode node = next();
+        node.setValue(ImmutableList.of());
+        this.stack.add(node);
+    }
+
+    @Override
+    public void endList() {
+        this.stack.remove(this.stack.size() - 1);
+    }
+
+    @Override
+    public void endView() {
+        this.stack.remove(this.stack.size() - 1);
+    }
+
+}
@@ -0,0 +1,483 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagByte;
+import net.minecraft.nbt.NBTTagByteArray;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagDouble;
+import net.minecraft.nbt.NBTTagFloat;
+import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagIntArray;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagLong;
+import net.minecraft.nbt.NBTTagShort;
+import net.minecraft.nbt.NBTTagString;
+import ninja.leaping.configurate.ConfigurationNode;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataSerializable;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.mixin.core.nbt.NBTTagLongArrayAccessor;
+import org.spongepowered.common.util.Constants;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Readers that walk a source format and emit its contents to a
+ * {@link DataVisitor}.
+ */
+public final class DataStreams {
+
+    private DataStreams() {
+    }
+
+    // DataView
+
+    public static void visit(final DataView view, final DataVisitor visitor) throws IOException {
+        visitor.beginView();
+        for (final Map.Entry<DataQuery, Object> entry : view.getValues(false).entrySet()) {
+            visitor.name(entry.getKey().asString('.'));
+            visitObject(entry.getValue(), visitor);
+        }
+        visitor.endView();
+    }
+
+    private static void visitObject(@Nullable final Object value, final DataVisitor visitor) throws IOException {
+        if (value == null || value instanceof Boolean || value instanceof Number || value instanceof String
+                || value instanceof byte[] || value instanceof int[] || value instanceof long[]) {
+            visitor.value(value);
+        } else if (value instanceof Byte[]) {
+            final Byte[] boxed = (Byte[]) value;
+            final byte[] array = new byte[boxed.length];
+            for (int i = 0; i < boxed.length; i++) {
+                array[i] = boxed[i];
+            }
+            visitor.value(array);
+        } else if (value instanceof Integer[]) {
+            final Integer[] boxed = (Integer[]) value;
+            final int[] array = new int[boxed.length];
+            for (int i = 0; i < boxed.length; i++) {
+                array[i] = boxed[i];
+            }
+            visitor.value(array);
+        } else if (value instanceof Long[]) {
+            final Long[] boxed = (Long[]) value;
+            final long[] array = new long[boxed.length];
+            for (int i = 0; i < boxed.length; i++) {
+                array[i] = boxed[i];
+            }
+            visitor.value(array);
+        } else if (value instanceof DataView) {
+            visit((DataView) value, visitor);
+        } else if (value instanceof DataSerializable) {
+            visit(((DataSerializable) value).toContainer(), visitor);
+        } else if (value instanceof Map) {
+            visitor.beginView();
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                final Object key = entry.getKey();
+                if (key instanceof DataQuery) {
+                    visitor.name(((DataQuery) key).asString('.'));
+                } else {
+                    visitor.mapKey(key.toString());
+                }
+                visitObject(entry.getValue(), visitor);
+            }
+            visitor.endView();
+        } else if (value instanceof Iterable) {
+            visitor.beginList(value instanceof Collection ? ((Collection<?>) value).size() : -1);
+            for (final Object element : (Iterable<?>) value) {
+                visitObject(element, visitor);
+            }
+            visitor.endList();
+        } else {
+            throw new IllegalArgumentException("Unable to visit object: " + value);
+        }
+    }
+
+    // NBT
+
+    public static void visit(final NBTTagCompound compound, final DataVisitor visitor) throws IOException {
+        visitor.beginView();
+        for (final String key : compound.getKeySet()) {
+            final NBTBase base = compound.getTag(key);
+            if (base.getId() == Constants.NBT.TAG_BYTE && key.contains(NbtTranslator.BOOLEAN_IDENTIFIER)) {
+                visitor.name(key.replace(NbtTranslator.BOOLEAN_IDENTIFIER, ""));
+                visitor.value(((NBTTagByte) base).getByte() != 0);
+            } else {
+                visitor.name(key);
+                visitTag(base, visitor);
+            }
+        }
+        visitor.endView();
+    }
+
+    private static void visitTag(final NBTBase base, final DataVisitor visitor) throws IOException {
+        switch (base.getId()) {
+            case Constants.NBT.TAG_BYTE:
+                visitor.value(((NBTTagByte) base).getByte());
+                break;
+            case Constants.NBT.TAG_SHORT:
+                visitor.value(((NBTTagShort) base).getShort());
+                break;
+            case Constants.NBT.TAG_INT:
+                visitor.value(((NBTTagInt) base).getInt());
+                break;
+            case Constants.NBT.TAG_LONG:
+                visitor.value(((NBTTagLong) base).getLong());
+                break;
+            case Constants.NBT.TAG_FLOAT:
+                visitor.value(((NBTTagFloat) base).getFloat());
+                break;
+            case Constants.NBT.TAG_DOUBLE:
+                visitor.value(((NBTTagDouble) base).getDouble());
+                break;
+            case Constants.NBT.TAG_BYTE_ARRAY:
+                visitor.value(((NBTTagByteArray) base).getByteArray());
+                break;
+            case Constants.NBT.TAG_STRING:
+                visitor.value(((NBTTagString) base).getString());
+                break;
+            case Constants.NBT.TAG_LIST:
+                final NBTTagList list = (NBTTagList) base;
+                final int count = list.tagCount();
+                visitor.beginList(count);
+                for (int i = 0; i < count; i++) {
+                    visitTag(list.get(i), visitor);
+                }
+                visitor.endList();
+                break;
+            case Constants.NBT.TAG_COMPOUND:
+                visit((NBTTagCompound) base, visitor);
+                break;
+            case Constants.NBT.TAG_INT_ARRAY:
+                visitor.value(((NBTTagIntArray) base).getIntArray());
+                break;
+            case Constants.NBT.TAG_LONG_ARRAY:
+                visitor.value(((NBTTagLongArrayAccessor) base).accessor$getLongArray());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown NBT type " + base.getId());
+        }
+    }
+
+    // JSON
+
+    public static void visit(final JsonReader reader, final DataVisitor visitor) throws IOException {
+        reader.beginObject();
+        visitor.beginView();
+        while (reader.hasNext()) {
+            visitor.name(reader.nextName());
+            visitJson(reader, visitor);
+        }
+        visitor.endView();
+        reader.endObject();
+    }
+
+    private static void visitJson(final JsonReader reader, final DataVisitor visitor) throws IOException {
+        final JsonToken token = reader.peek();
+        switch (token) {
+            case BEGIN_OBJECT:
+                visit(reader, visitor);
+                break;
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                visitor.beginList(-1);
+                while (reader.hasNext()) {
+                    visitJson(reader, visitor);
+                }
+                visitor.endList();
+                reader.endArray();
+                break;
+            case BOOLEAN:
+                visitor.value(reader.nextBoolean());
+                break;
+            case NULL:
+                reader.nextNull();
+                visitor.value(null);
+                break;
+            case STRING:
+                visitor.value(reader.nextString());
+                break;
+            case NUMBER:
+                visitor.value(readNumber(reader));
+                break;
+            default:
+                throw new IOException("Unexpected token: " + token);
+        }
+    }
+
+    private static Number readNumber(final JsonReader reader) throws IOException {
+        // Similar to https://github.com/zml2008/configurate/blob/master/configurate-gson/src/main/java/ninja/leaping/configurate/gson/GsonConfigurationLoader.java#L113
+        // Not sure what's the best way to detect the type of number
+
+        final String number = reader.nextString();
+        if (number.contains(".")) {
+            return Double.parseDouble(number);
+        }
+        final long nextLong = Long.parseLong(number);
+        final int nextInt = (int) nextLong;
+        if (nextInt == nextLong) {
+            return nextInt;
+        }
+        return nextLong;
+    }
+
+    // Configurate
+
+    public static void visit(final ConfigurationNode node, final DataVisitor visitor) throws IOException {
+        if (!node.isEmpty() && !node.isMap()) {
+            throw new IllegalArgumentException("Only mapping nodes can be represented in DataViews");
+        }
+        visitNode(node, visitor);
+    }
+
+    private static void visitNode(final ConfigurationNode node, final DataVisitor visitor) throws IOException {
+        if (node.isMap()) {
+            visitor.beginView();
+            for (final Map.Entry<Object, ? extends ConfigurationNode> entry : node.getChildrenMap().entrySet()) {
+                visitor.name(entry.getKey().toString());
+                visitNode(entry.getValue(), visitor);
+            }
+            visitor.endView();
+        } else if (node.isList()) {
+            final List<? extends ConfigurationNode> children = node.getChildrenList();
+            visitor.beginList(children.size());
+            for (final ConfigurationNode child : children) {
+                visitNode(child, visitor);
+            }
+            visitor.endList();
+        } else if (node.isEmpty() && node.getParent() == null) {
+            // An empty root is an empty view
+            visitor.beginView();
+            visitor.endView();
+        } else {
+            visitor.value(node.getValue());
+        }
+    }
+
+    // Binary
+
+    /**
+     * Reads a view written by a {@link BinaryDataWriter} straight from the
+     * buffer, starting at its current position.
+     *
+     * @param buffer The buffer to read from
+     * @param visitor The visitor
+     * @throws IOException If the data is malformed
+     */
+    public static void visit(final ByteBuffer buffer, final DataVisitor visitor) throws IOException {
+        final BinaryReader reader = new BinaryReader(buffer);
+        try {
+            final byte tag = buffer.get();
+            if (tag != BinaryDataWriter.VIEW) {
+                throw new IOException("Expected a view at the root but found tag " + tag);
+            }
+            reader.visitView(visitor);
+        } catch (BufferUnderflowException e) {
+            throw new EOFException("Unexpected end of binary data");
+        }
+    }
+
+    private static final class BinaryReader {
+
+        private final ByteBuffer buffer;
+        private final List<String> names = new ArrayList<>();
+
+        BinaryReader(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        void visitView(final DataVisitor visitor) throws IOException {
+            visitor.beginView();
+            byte tag;
+            while ((tag = this.buffer.get()) != BinaryDataWriter.END) {
+                final int index = this.readVarInt();
+                final String name;
+                if (index == 0) {
+                    name = this.readString();
+                    this.names.add(name);
+                } else if (index <= this.names.size()) {
+                    name = this.names.get(index - 1);
+                } else {
+                    throw new IOException("Unknown name index " + index);
+                }
+                visitor.name(name);
+                this.visitValue(tag, visitor);
+            }
+            visitor.endView();
+        }
+
+        private void visitList(final DataVisitor visitor) throws IOException {
+            final int size = this.readVarInt() - 1;
+            visitor.beginList(size);
+            if (size < 0) {
+                byte tag;
+                while ((tag = this.buffer.get()) != BinaryDataWriter.END) {
+                    this.visitValue(tag, visitor);
+                }
+            } else {
+                for (int i = 0; i < size; i++) {
+                    this.visitValue(this.buffer.get(), visitor);
+                }
+            }
+            visitor.endList();
+        }
+
+        private void visitValue(final byte tag, final DataVisitor visitor) throws IOException {
+            switch (tag) {
+                case BinaryDataWriter.NULL:
+                    visitor.value(null);
+                    break;
+                case BinaryDataWriter.FALSE:
+                    visitor.value(false);
+                    break;
+                case BinaryDataWriter.TRUE:
+                    visitor.value(true);
+                    break;
+                case BinaryDataWriter.BYTE:
+                    visitor.value(this.buffer.get());
+                    break;
+                case BinaryDataWriter.SHORT:
+                    visitor.value((short) unZigZag(this.readVarInt()));
+                    break;
+                case BinaryDataWriter.INT:
+                    visitor.value(unZigZag(this.readVarInt()));
+                    break;
+                case BinaryDataWriter.LONG:
+                    visitor.value(unZigZag(this.readVarLong()));
+                    break;
+                case BinaryDataWriter.FLOAT:
+                    visitor.value(this.buffer.getFloat());
+                    break;
+                case BinaryDataWriter.DOUBLE:
+                    visitor.value(this.buffer.getDouble());
+                    break;
+                case BinaryDataWriter.STRING:
+                    visitor.value(this.readString());
+                    break;
+                case BinaryDataWriter.BYTE_ARRAY: {
+                    final byte[] array = new byte[this.readLength()];
+                    this.buffer.get(array);
+                    visitor.value(array);
+                    break;
+                }
+                case BinaryDataWriter.INT_ARRAY: {
+                    final int[] array = new int[this.readLength()];
+                    for (int i = 0; i < array.length; i++) {
+                        array[i] = unZigZag(this.readVarInt());
+                    }
+                    visitor.value(array);
+                    break;
+                }
+                case BinaryDataWriter.LONG_ARRAY: {
+                    final long[] array = new long[this.readLength()];
+                    for (int i = 0; i < array.length; i++) {
+                        array[i] = unZigZag(this.readVarLong());
+                    }
+                    visitor.value(array);
+                    break;
+                }
+                case BinaryDataWriter.VIEW:
+                    this.visitView(visitor);
+                    break;
+                case BinaryDataWriter.LIST:
+                    this.visitList(visitor);
+                    break;
+                default:
+                    throw new IOException("Unknown binary data tag " + tag);
+            }
+        }
+
+        private String readString() throws IOException {
+            final int length = this.readLength();
+            final String value;
+            if (this.buffer.hasArray()) {
+                // Decode in place instead of copying the bytes out first
+                value = new String(this.buffer.array(), this.buffer.arrayOffset() + this.buffer.position(), length, StandardCharsets.UTF_8);
+                this.buffer.position(this.buffer.position() + length);
+            } else {
+                final ByteBuffer slice = this.buffer.slice();
+                slice.limit(length);
+                value = StandardCharsets.UTF_8.decode(slice).toString();
+                this.buffer.position(this.buffer.position() + length);
+            }
+            return value;
+        }
+
+        private int readLength() throws IOException {
+            final int length = this.readVarInt();
+            if (length < 0 || length > this.buffer.remaining()) {
+                throw new IOException("Invalid length " + length);
+            }
+            return length;
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                final byte b = this.buffer.get();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("VarInt too long");
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                final byte b = this.buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("VarLong too long");
+        }
+
+        private static int unZigZag(final int value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private static long unZigZag(final long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+}
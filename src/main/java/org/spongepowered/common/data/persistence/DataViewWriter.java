@@ -0,0 +1,154 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link DataVisitor} that builds a {@link DataView}, nested views are
+ * created in place rather than copied in to their parent.
+ */
+public final class DataViewWriter implements DataVisitor {
+
+    private final DataView root;
+    // Either DataViews or ListFrames
+    private final List<Object> stack = new ArrayList<>();
+    @Nullable private DataQuery pendingKey;
+
+    public DataViewWriter() {
+        this(DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED));
+    }
+
+    /**
+     * Creates a writer setting the visited root entries on the provided view.
+     *
+     * @param root The view to write to
+     */
+    public DataViewWriter(final DataView root) {
+        this.root = root;
+    }
+
+    public DataView getRoot() {
+        return this.root;
+    }
+
+    @Nullable
+    private Object peek() {
+        return this.stack.isEmpty() ? null : this.stack.get(this.stack.size() - 1);
+    }
+
+    private DataQuery popKey() {
+        checkState(this.pendingKey != null, "No name was visited in the current view");
+        final DataQuery key = this.pendingKey;
+        this.pendingKey = null;
+        return key;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void beginView() {
+        final Object parent = peek();
+        final DataView view;
+        if (parent == null) {
+            view = this.root;
+        } else if (parent instanceof DataView) {
+            view = ((DataView) parent).createView(popKey());
+        } else {
+            view = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+            ((ListFrame) parent).values.add(view);
+        }
+        this.stack.add(view);
+    }
+
+    @Override
+    public void name(final String name) {
+        checkState(peek() instanceof DataView, "Names can only be visited in views");
+        this.pendingKey = DataQuery.of(name);
+    }
+
+    @Override
+    public void value(@Nullable final Object value) {
+        final Object parent = peek();
+        if (parent instanceof DataView) {
+            final DataQuery key = popKey();
+            // Views can't hold nulls, the entry is left absent instead
+            if (value != null) {
+                ((DataView) parent).set(key, value);
+            }
+        } else {
+            checkState(parent != null, "Values can only be visited in views or lists");
+            ((ListFrame) parent).values.add(value);
+        }
+    }
+
+    @Override
+    public void beginList(final int size) {
+        final Object parent = peek();
+        checkState(parent != null, "Lists can only be visited in views or lists");
+        // The name of the list has to be kept until the list ends, as views within it visit names too
+        final DataQuery key = parent instanceof DataView ? popKey() : null;
+        this.stack.add(new ListFrame(key, size < 0 ? new ArrayList<>() : new ArrayList<>(size)));
+    }
+
+    @Override
+    public void endList() {
+        final Object frame = this.stack.remove(this.stack.size() - 1);
+        checkState(frame instanceof ListFrame, "Ended a list but the current value is not a list");
+        final ListFrame list = (ListFrame) frame;
+        // Lists are set once complete, as setting them in to a view copies them
+        if (list.key != null) {
+            ((DataView) this.stack.get(this.stack.size() - 1)).set(list.key, list.values);
+        } else {
+            ((ListFrame) this.stack.get(this.stack.size() - 1)).values.add(list.values);
+        }
+    }
+
+    @Override
+    public void endView() {
+        final Object view = this.stack.remove(this.stack.size() - 1);
+        checkState(view instanceof DataView, "Ended a view but the current value is not a view");
+    }
+
+    private static final class ListFrame {
+
+        @Nullable final DataQuery key;
+        final List<Object> values;
+
+        ListFrame(@Nullable final DataQuery key, final List<Object> values) {
+            this.key = key;
+            this.values = values;
+        }
+    }
+
+}
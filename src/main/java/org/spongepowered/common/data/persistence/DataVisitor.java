@@ -0,0 +1,106 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import org.spongepowered.api.data.DataView;
+
+import java.io.IOException;
+
+import javax.annotation.Nullable;
+
+/**
+ * An event based visitor over {@link DataView} shaped data. Readers in
+ * {@link DataStreams} walk a source format and emit these events in order,
+ * writers build the target format as the events arrive, so data can be
+ * translated between formats without an intermediate {@link DataView}.
+ *
+ * <p>Inside a view every {@link #beginView()}, {@link #beginList(int)} or
+ * {@link #value(Object)} is preceded by a {@link #name(String)}, inside a
+ * list the elements follow each other directly.</p>
+ */
+public interface DataVisitor {
+
+    /**
+     * Starts a new view, either the root, a named entry of the current view
+     * or an element of the current list.
+     *
+     * @throws IOException If the target could not be written to
+     */
+    void beginView() throws IOException;
+
+    /**
+     * Sets the name of the next entry within the current view.
+     *
+     * @param name The name of the entry
+     * @throws IOException If the target could not be written to
+     */
+    void name(String name) throws IOException;
+
+    /**
+     * Sets the name of the next entry within the current view, where the view
+     * is a map that isn't keyed by {@link org.spongepowered.api.data.DataQuery}.
+     * Formats tagging the names of their entries, such as NBT marking
+     * booleans, leave these names as they are.
+     *
+     * @param name The name of the entry
+     * @throws IOException If the target could not be written to
+     */
+    default void mapKey(final String name) throws IOException {
+        this.name(name);
+    }
+
+    /**
+     * Visits a value, this is a {@link Boolean}, a {@link Number}, a
+     * {@link String}, a {@code byte[]}, {@code int[]} or {@code long[]},
+     * or {@code null}.
+     *
+     * @param value The value
+     * @throws IOException If the target could not be written to
+     */
+    void value(@Nullable Object value) throws IOException;
+
+    /**
+     * Starts a new list.
+     *
+     * @param size The number of elements, or {@code -1} if unknown
+     * @throws IOException If the target could not be written to
+     */
+    void beginList(int size) throws IOException;
+
+    /**
+     * Ends the current list.
+     *
+     * @throws IOException If the target could not be written to
+     */
+    void endList() throws IOException;
+
+    /**
+     * Ends the current view.
+     *
+     * @throws IOException If the target could not be written to
+     */
+    void endView() throws IOException;
+
+}
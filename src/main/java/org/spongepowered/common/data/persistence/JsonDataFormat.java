@@ -24,15 +24,10 @@
  */
 package org.spongepowered.common.data.persistence;
 
-import static org.spongepowered.api.data.DataQuery.of;
-
 import com.google.gson.Gson;
 import com.google.gson.stream.JsonReader;
-import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import org.spongepowered.api.data.DataContainer;
-import org.spongepowered.api.data.DataQuery;
-import org.spongepowered.api.data.DataSerializable;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.persistence.InvalidDataException;
 import org.spongepowered.api.data.persistence.StringDataFormat;
@@ -50,11 +45,6 @@
 import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-
-import javax.annotation.Nullable;
 
 public final class JsonDataFormat extends SpongeCatalogType implements StringDataFormat {
 
@@ -93,82 +83,11 @@ public DataContainer readFrom(InputStream input) throws IOException {
     }
 
     private static DataContainer readFrom(JsonReader reader) throws IOException {
-        return createContainer(reader);
-    }
-
-    private static DataContainer createContainer(JsonReader reader) throws IOException {
-        DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
-        readView(reader, container);
+        final DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        DataStreams.visit(reader, new DataViewWriter(container));
         return container;
     }
 
-    private static void readView(JsonReader reader, DataView view) throws IOException {
-        reader.beginObject();
-
-        while (reader.hasNext()) {
-            DataQuery key = of(reader.nextName());
-
-            if (reader.peek() == JsonToken.BEGIN_OBJECT) {
-                // Check this early so we don't need to copy the view
-                readView(reader, view.createView(key));
-            } else {
-                view.set(key, read(reader));
-            }
-        }
-
-        reader.endObject();
-    }
-
-    @Nullable
-    private static Object read(JsonReader reader) throws IOException {
-        JsonToken token = reader.peek();
-        switch (token) {
-            case BEGIN_OBJECT:
-                return createContainer(reader);
-            case BEGIN_ARRAY:
-                return readArray(reader);
-            case BOOLEAN:
-                return reader.nextBoolean();
-            case NULL:
-                reader.nextNull();
-                return null;
-            case STRING:
-                return reader.nextString();
-            case NUMBER:
-                return readNumber(reader);
-            default:
-                throw new IOException("Unexpected token: " + token);
-        }
-    }
-
-    private static Number readNumber(JsonReader reader) throws IOException {
-        // Similar to https://github.com/zml2008/configurate/blob/master/configurate-gson/src/main/java/ninja/leaping/configurate/gson/GsonConfigurationLoader.java#L113
-        // Not sure what's the best way to detect the type of number
-
-        String number = reader.nextString();
-        if (number.contains(".")) {
-            return Double.parseDouble(number);
-        }
-        long nextLong = Long.parseLong(number);
-        int nextInt = (int) nextLong;
-        if (nextInt == nextLong) {
-            return nextInt;
-        }
-        return nextLong;
-    }
-
-    private static List<?> readArray(JsonReader reader) throws IOException {
-        reader.beginArray();
-
-        List<Object> result = new ArrayList<>();
-        while (reader.hasNext()) {
-            result.add(read(reader));
-        }
-
-        reader.endArray();
-        return result;
-    }
-
     @Override
     public void writeTo(OutputStream output, DataView data) throws IOException {
         try (JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)))) {
@@ -191,60 +110,7 @@ public void writeTo(Writer output, DataView data) throws IOException {
     }
 
     private static void writeView(JsonWriter writer, DataView view) throws IOException {
-        writer.beginObject();
-
-        for (Map.Entry<DataQuery, Object> entry : view.getValues(false).entrySet()) {
-            writer.name(entry.getKey().asString('.'));
-            write(writer, entry.getValue());
-        }
-
-        writer.endObject();
-    }
-
-    private static void write(JsonWriter writer, @Nullable Object value) throws IOException {
-        if (value == null) {
-            writer.nullValue();
-        } else if (value instanceof Boolean) {
-            writer.value((Boolean) value);
-        } else if (value instanceof Number) {
-            writer.value((Number) value);
-        } else if (value instanceof String) {
-            writer.value((String) value);
-        } else if (value instanceof Iterable) {
-            writeArray(writer, (Iterable<?>) value);
-        } else if (value instanceof Map) {
-            writeMap(writer, (Map<?, ?>) value);
-        } else if (value instanceof DataSerializable) {
-            writeView(writer, ((DataSerializable) value).toContainer());
-        } else if (value instanceof DataView) {
-            writeView(writer, (DataView) value);
-        } else {
-            throw new IllegalArgumentException("Unable to translate object to JSON: " + value);
-        }
-    }
-
-    private static void writeArray(JsonWriter writer, Iterable<?> iterable) throws IOException {
-        writer.beginArray();
-        for (Object value : iterable) {
-            write(writer, value);
-        }
-        writer.endArray();
-    }
-
-    private static void writeMap(JsonWriter writer, Map<?, ?> map) throws IOException {
-        writer.beginObject();
-
-        for (Map.Entry<?, ?> entry : map.entrySet()) {
-            Object key = entry.getKey();
-            if (key instanceof DataQuery) {
-                key = ((DataQuery) key).asString('.');
-            }
-
-            writer.name(key.toString());
-            write(writer, entry.getValue());
-        }
-
-        writer.endObject();
+        DataStreams.visit(view, new JsonDataWriter(writer));
     }
 
 }
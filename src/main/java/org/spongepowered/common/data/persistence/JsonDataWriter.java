@@ -0,0 +1,102 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link DataVisitor} writing straight to a {@link JsonWriter}.
+ */
+public final class JsonDataWriter implements DataVisitor {
+
+    private final JsonWriter writer;
+
+    public JsonDataWriter(final JsonWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void beginView() throws IOException {
+        this.writer.beginObject();
+    }
+
+    @Override
+    public void name(final String name) throws IOException {
+        this.writer.name(name);
+    }
+
+    @Override
+    public void value(@Nullable final Object value) throws IOException {
+        if (value == null) {
+            this.writer.nullValue();
+        } else if (value instanceof Boolean) {
+            this.writer.value((Boolean) value);
+        } else if (value instanceof Number) {
+            this.writer.value((Number) value);
+        } else if (value instanceof String) {
+            this.writer.value((String) value);
+        } else if (value instanceof byte[]) {
+            this.writer.beginArray();
+            for (final byte b : (byte[]) value) {
+                this.writer.value(b);
+            }
+            this.writer.endArray();
+        } else if (value instanceof int[]) {
+            this.writer.beginArray();
+            for (final int i : (int[]) value) {
+                this.writer.value(i);
+            }
+            this.writer.endArray();
+        } else if (value instanceof long[]) {
+            this.writer.beginArray();
+            for (final long l : (long[]) value) {
+                this.writer.value(l);
+            }
+            this.writer.endArray();
+        } else {
+            throw new IllegalArgumentException("Unable to translate object to JSON: " + value);
+        }
+    }
+
+    @Override
+    public void beginList(final int size) throws IOException {
+        this.writer.beginArray();
+    }
+
+    @Override
+    public void endList() throws IOException {
+        this.writer.endArray();
+    }
+
+    @Override
+    public void endView() throws IOException {
+        this.writer.endObject();
+    }
+
+}
@@ -0,0 +1,190 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagByte;
+import net.minecraft.nbt.NBTTagByteArray;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagDouble;
+import net.minecraft.nbt.NBTTagFloat;
+import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagIntArray;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagLong;
+import net.minecraft.nbt.NBTTagLongArray;
+import net.minecraft.nbt.NBTTagShort;
+import net.minecraft.nbt.NBTTagString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link DataVisitor} that builds an {@link NBTTagCompound}. Booleans
+ * within compounds are stored as bytes with the
+ * {@link NbtTranslator#BOOLEAN_IDENTIFIER} appended to their name, except
+ * for entries of maps that aren't keyed by
+ * {@link org.spongepowered.api.data.DataQuery}, which are stored as plain
+ * bytes. Null values are skipped.
+ */
+public final class NbtDataWriter implements DataVisitor {
+
+    private final NBTTagCompound root;
+    // Either NBTTagCompounds or NBTTagLists
+    private final List<NBTBase> stack = new ArrayList<>();
+    @Nullable private String pendingKey;
+    private boolean pendingMapKey;
+
+    public NbtDataWriter() {
+        this(new NBTTagCompound());
+    }
+
+    /**
+     * Creates a writer setting the visited root entries on the provided compound.
+     *
+     * @param root The compound to write to
+     */
+    public NbtDataWriter(final NBTTagCompound root) {
+        this.root = root;
+    }
+
+    public NBTTagCompound getRoot() {
+        return this.root;
+    }
+
+    @Nullable
+    private NBTBase peek() {
+        return this.stack.isEmpty() ? null : this.stack.get(this.stack.size() - 1);
+    }
+
+    private String popKey() {
+        checkState(this.pendingKey != null, "No name was visited in the current compound");
+        final String key = this.pendingKey;
+        this.pendingKey = null;
+        return key;
+    }
+
+    private void add(final NBTBase base) {
+        final NBTBase parent = peek();
+        if (parent instanceof NBTTagCompound) {
+            ((NBTTagCompound) parent).setTag(popKey(), base);
+        } else {
+            checkState(parent != null, "Values can only be visited in compounds or lists");
+            ((NBTTagList) parent).appendTag(base);
+        }
+    }
+
+    @Override
+    public void beginView() {
+        final NBTTagCompound compound;
+        if (this.stack.isEmpty()) {
+            compound = this.root;
+        } else {
+            compound = new NBTTagCompound();
+            add(compound);
+        }
+        this.stack.add(compound);
+    }
+
+    @Override
+    public void name(final String name) {
+        checkState(peek() instanceof NBTTagCompound, "Names can only be visited in compounds");
+        this.pendingKey = name;
+        this.pendingMapKey = false;
+    }
+
+    @Override
+    public void mapKey(final String name) {
+        this.name(name);
+        this.pendingMapKey = true;
+    }
+
+    @Override
+    public void value(@Nullable final Object value) {
+        if (value == null) {
+            // NBT has no null tag, leave the entry out
+            if (peek() instanceof NBTTagCompound) {
+                popKey();
+            }
+            return;
+        }
+        if (value instanceof Boolean && peek() instanceof NBTTagCompound && !this.pendingMapKey) {
+            ((NBTTagCompound) peek()).setTag(popKey() + NbtTranslator.BOOLEAN_IDENTIFIER, new NBTTagByte((Boolean) value ? (byte) 1 : 0));
+        } else {
+            add(getBaseFromValue(value));
+        }
+    }
+
+    private static NBTBase getBaseFromValue(final Object value) {
+        if (value instanceof Boolean) {
+            return new NBTTagByte((Boolean) value ? (byte) 1 : 0);
+        } else if (value instanceof Byte) {
+            return new NBTTagByte((Byte) value);
+        } else if (value instanceof Short) {
+            return new NBTTagShort((Short) value);
+        } else if (value instanceof Integer) {
+            return new NBTTagInt((Integer) value);
+        } else if (value instanceof Long) {
+            return new NBTTagLong((Long) value);
+        } else if (value instanceof Float) {
+            return new NBTTagFloat((Float) value);
+        } else if (value instanceof Double) {
+            return new NBTTagDouble((Double) value);
+        } else if (value instanceof String) {
+            return new NBTTagString((String) value);
+        } else if (value instanceof byte[]) {
+            return new NBTTagByteArray((byte[]) value);
+        } else if (value instanceof int[]) {
+            return new NBTTagIntArray((int[]) value);
+        } else if (value instanceof long[]) {
+            return new NBTTagLongArray((long[]) value);
+        }
+        throw new IllegalArgumentException("Unable to translate object to NBTBase: " + value);
+    }
+
+    @Override
+    public void beginList(final int size) {
+        final NBTTagList list = new NBTTagList();
+        add(list);
+        this.stack.add(list);
+    }
+
+    @Override
+    public void endList() {
+        final NBTBase list = this.stack.remove(this.stack.size() - 1);
+        checkState(list instanceof NBTTagList, "Ended a list but the current tag is not a list");
+    }
+
+    @Override
+    public void endView() {
+        final NBTBase compound = this.stack.remove(this.stack.size() - 1);
+        checkState(compound instanceof NBTTagCompound, "Ended a view but the current tag is not a compound");
+    }
+
+}
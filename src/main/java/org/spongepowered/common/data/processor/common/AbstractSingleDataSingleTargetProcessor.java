@@ -75,6 +75,16 @@ public boolean supports(EntityType entityType) {
         return this.holderClass.isAssignableFrom(entityType.getEntityClass());
     }
 
+    @Override
+    public boolean supportsHolderClass(Class<?> holderClass) {
+        return this.holderClass.isAssignableFrom(holderClass);
+    }
+
+    @Override
+    public boolean supportsContainerClass(Class<?> containerClass) {
+        return this.holderClass.isAssignableFrom(containerClass);
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public DataTransactionResult set(DataHolder dataHolder, M manipulator, MergeFunction function) {
@@ -41,11 +41,16 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.data.DataProcessor;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class DataProcessorDelegate<M extends DataManipulator<M, I>, I extends ImmutableDataManipulator<I, M>> implements DataProcessor<M, I> {
 
     private final ImmutableList<Tuple<DataProcessor<M, I>, Timing>> processors;
+    // The processors that could support a holder class, resolved the first time it is seen.
+    // A new delegate is created whenever processors are registered, so this never goes stale.
+    private final Map<Class<?>, ImmutableList<Tuple<DataProcessor<M, I>, Timing>>> processorsByHolderClass = new ConcurrentHashMap<>();
 
     public DataProcessorDelegate(final ImmutableList<DataProcessor<M, I>> processors) {
         final ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
@@ -55,6 +60,18 @@ public DataProcessorDelegate(final ImmutableList<DataProcessor<M, I>> processors
         this.processors = builder.build();
     }
 
+    private ImmutableList<Tuple<DataProcessor<M, I>, Timing>> getProcessors(final DataHolder dataHolder) {
+        return this.processorsByHolderClass.computeIfAbsent(dataHolder.getClass(), holderClass -> {
+            final ImmutableList.Builder<Tuple<DataProcessor<M, I>, Timing>> builder = ImmutableList.builder();
+            for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+                if (tuple.getFirst().supportsHolderClass(holderClass)) {
+                    builder.add(tuple);
+                }
+            }
+            return builder.build();
+        });
+    }
+
     @Override
     public int getPriority() {
         return Integer.MAX_VALUE;
@@ -64,7 +81,7 @@ public int getPriority() {
     public boolean supports(final DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder)) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -102,7 +119,7 @@ public boolean supports(final EntityType entityType) {
     public Optional<M> from(final DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder)) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -127,7 +144,7 @@ public Optional<M> from(final DataHolder dataHolder) {
     public Optional<M> fill(final DataHolder dataHolder, final M manipulator, final MergeFunction overlap) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder)) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -171,7 +188,7 @@ public Optional<M> fill(final DataContainer container, final M m) {
     public DataTransactionResult set(final DataHolder dataHolder, final M manipulator, final MergeFunction function) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder)) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -215,7 +232,7 @@ public Optional<I> with(final Key<? extends BaseValue<?>> key, final Object valu
     public DataTransactionResult remove(final DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder)) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
@@ -240,7 +257,7 @@ public DataTransactionResult remove(final DataHolder dataHolder) {
     public Optional<M> createFrom(final DataHolder dataHolder) {
         final boolean callingFromMinecraftThread = SpongeImplHooks.isMainThread();
 
-        for (final Tuple<DataProcessor<M, I>, Timing> tuple : this.processors) {
+        for (final Tuple<DataProcessor<M, I>, Timing> tuple : getProcessors(dataHolder)) {
             if (callingFromMinecraftThread) {
                 tuple.getSecond().startTiming();
             }
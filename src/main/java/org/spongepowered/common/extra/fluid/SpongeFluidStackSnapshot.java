@@ -36,6 +36,7 @@
 import org.spongepowered.api.extra.fluid.FluidStackSnapshot;
 import org.spongepowered.api.extra.fluid.FluidType;
 import org.spongepowered.api.extra.fluid.FluidTypes;
+import org.spongepowered.common.data.FrozenDataContainer;
 import org.spongepowered.common.util.Constants;
 
 import java.util.Collection;
@@ -60,7 +61,7 @@ public class SpongeFluidStackSnapshot implements FluidStackSnapshot {
     SpongeFluidStackSnapshot(SpongeFluidStackSnapshotBuilder builder) {
         this.fluidType = builder.fluidType;
         this.volume = builder.volume;
-        this.extraData = builder.container == null ? null : builder.container.copy();
+        this.extraData = builder.container == null ? null : FrozenDataContainer.freeze(builder.container);
     }
 
     @Override
@@ -72,11 +72,14 @@ public class SpongeItemStackSnapshot implements ItemStackSnapshot {
     private final ItemType itemType;
     private final int quantity;
     private final int damageValue;
-    private final ImmutableList<ImmutableDataManipulator<?, ?>> manipulators;
     private final transient ItemStack privateStack; // only for internal use since the processors have a huge say
-    private final ImmutableSet<Key<?>> keys;
-    private final ImmutableSet<ImmutableValue<?>> values;
-    @Nullable private final NBTTagCompound compound;
+    // Everything below is derived from the private stack the first time it's needed,
+    // most snapshots created for inventory transactions are never looked at closely.
+    @Nullable private ImmutableList<ImmutableDataManipulator<?, ?>> manipulators;
+    @Nullable private ImmutableSet<Key<?>> keys;
+    @Nullable private ImmutableSet<ImmutableValue<?>> values;
+    @Nullable private NBTTagCompound compound;
+    private volatile boolean compoundResolved;
     @Nullable private UUID creatorUniqueId;
 
     @SuppressWarnings({"EqualsBetweenInconvertibleTypes", "ConstantConditions"})
@@ -91,43 +94,15 @@ public SpongeItemStackSnapshot(ItemStack itemStack) {
             this.keys = ImmutableSet.of();
             this.values = ImmutableSet.of();
             this.compound = null;
+            this.compoundResolved = true;
             return;
         }
         this.itemType = itemStack.getType();
         this.quantity = itemStack.getQuantity();
-        ImmutableList.Builder<ImmutableDataManipulator<?, ?>> builder = ImmutableList.builder();
-        ImmutableSet.Builder<Key<?>> keyBuilder = ImmutableSet.builder();
-        ImmutableSet.Builder<ImmutableValue<?>> valueBuilder = ImmutableSet.builder();
-        for (DataManipulator<?, ?> manipulator : ((CustomDataHolderBridge) itemStack).bridge$getCustomManipulators()) {
-            builder.add(manipulator.asImmutable());
-            keyBuilder.addAll(manipulator.getKeys());
-            valueBuilder.addAll(manipulator.getValues());
-        }
         this.damageValue = ((net.minecraft.item.ItemStack) itemStack).getItemDamage();
-        this.manipulators = builder.build();
+        // The copy carries its own copies of the tag compound and the custom manipulators,
+        // and is never modified afterwards.
         this.privateStack = itemStack.copy();
-        this.keys = keyBuilder.build();
-        this.values = valueBuilder.build();
-        @Nullable NBTTagCompound compound = ((net.minecraft.item.ItemStack) this.privateStack).getTagCompound();
-        if (compound != null) {
-            compound = compound.copy();
-        }
-        if (compound != null) {
-            if (compound.hasKey(Constants.Sponge.SPONGE_DATA)) {
-                final NBTTagCompound spongeCompound = compound.getCompoundTag(Constants.Sponge.SPONGE_DATA);
-                if (spongeCompound.hasKey(Constants.Sponge.CUSTOM_MANIPULATOR_TAG_LIST)) {
-                    spongeCompound.removeTag(Constants.Sponge.CUSTOM_MANIPULATOR_TAG_LIST);
-                }
-            }
-            Constants.NBT.filterSpongeCustomData(compound);
-            if (!compound.isEmpty()) {
-                this.compound = compound;
-            } else {
-                this.compound = null;
-            }
-        } else {
-            this.compound = null;
-        }
     }
 
     public SpongeItemStackSnapshot(ItemType itemType,
@@ -140,16 +115,38 @@ public SpongeItemStackSnapshot(ItemType itemType,
         this.manipulators = checkNotNull(manipulators);
         this.damageValue = damageValue;
         this.privateStack = (ItemStack) new net.minecraft.item.ItemStack((Item) this.itemType, this.quantity, this.damageValue);
-        ImmutableSet.Builder<Key<?>> keyBuilder = ImmutableSet.builder();
-        ImmutableSet.Builder<ImmutableValue<?>> valueBuilder = ImmutableSet.builder();
         for (ImmutableDataManipulator<?, ?> manipulator : this.manipulators) {
             this.privateStack.offer(manipulator.asMutable());
-            keyBuilder.addAll(manipulator.getKeys());
-            valueBuilder.addAll(manipulator.getValues());
         }
-        this.keys = keyBuilder.build();
-        this.values = valueBuilder.build();
         this.compound = compound == null ? null : compound.copy();
+        this.compoundResolved = true;
+    }
+
+    /**
+     * Gets the tag compound of the snapshotted stack without the sponge
+     * custom data, this is shared and must not be modified.
+     */
+    @Nullable
+    private NBTTagCompound resolveCompound() {
+        if (!this.compoundResolved) {
+            @Nullable NBTTagCompound compound = ((net.minecraft.item.ItemStack) this.privateStack).getTagCompound();
+            if (compound != null) {
+                compound = compound.copy();
+                if (compound.hasKey(Constants.Sponge.SPONGE_DATA)) {
+                    final NBTTagCompound spongeCompound = compound.getCompoundTag(Constants.Sponge.SPONGE_DATA);
+                    if (spongeCompound.hasKey(Constants.Sponge.CUSTOM_MANIPULATOR_TAG_LIST)) {
+                        spongeCompound.removeTag(Constants.Sponge.CUSTOM_MANIPULATOR_TAG_LIST);
+                    }
+                }
+                Constants.NBT.filterSpongeCustomData(compound);
+                if (compound.isEmpty()) {
+                    compound = null;
+                }
+            }
+            this.compound = compound;
+            this.compoundResolved = true;
+        }
+        return this.compound;
     }
 
     @Override
@@ -179,10 +176,11 @@ public Translation getTranslation() {
     @Override
     public ItemStack createStack() {
         net.minecraft.item.ItemStack nativeStack = ItemStackUtil.cloneDefensiveNative(ItemStackUtil.toNative(this.privateStack.copy()));
-        if(this.compound != null) {
-            nativeStack.setTagCompound(this.compound.copy());
+        final NBTTagCompound compound = resolveCompound();
+        if(compound != null) {
+            nativeStack.setTagCompound(compound.copy());
         }
-        for (ImmutableDataManipulator<?, ?> manipulator : this.manipulators) {
+        for (ImmutableDataManipulator<?, ?> manipulator : getManipulators()) {
             ((ItemStack) nativeStack).offer(manipulator.asMutable());
         }
         return ItemStackUtil.fromNative(nativeStack);
@@ -190,6 +188,13 @@ public ItemStack createStack() {
 
     @Override
     public List<ImmutableDataManipulator<?, ?>> getManipulators() {
+        if (this.manipulators == null) {
+            final ImmutableList.Builder<ImmutableDataManipulator<?, ?>> builder = ImmutableList.builder();
+            for (DataManipulator<?, ?> manipulator : ((CustomDataHolderBridge) this.privateStack).bridge$getCustomManipulators()) {
+                builder.add(manipulator.asImmutable());
+            }
+            this.manipulators = builder.build();
+        }
         return this.manipulators;
     }
 
@@ -205,11 +210,13 @@ public DataContainer toContainer() {
             .set(Constants.ItemStack.TYPE, this.isNone() ? ItemTypes.NONE.getId() : this.itemType.getId())
             .set(Constants.ItemStack.COUNT, this.quantity)
             .set(Constants.ItemStack.DAMAGE_VALUE, this.damageValue);
-        if (!this.manipulators.isEmpty()) {
-            container.set(Constants.Sponge.DATA_MANIPULATORS, DataUtil.getSerializedImmutableManipulatorList(this.manipulators));
+        final List<ImmutableDataManipulator<?, ?>> manipulators = getManipulators();
+        if (!manipulators.isEmpty()) {
+            container.set(Constants.Sponge.DATA_MANIPULATORS, DataUtil.getSerializedImmutableManipulatorList(manipulators));
         }
-        if (this.compound != null) {
-            container.set(Constants.Sponge.UNSAFE_NBT, NbtTranslator.getInstance().translateFrom(this.compound));
+        final NBTTagCompound compound = resolveCompound();
+        if (compound != null) {
+            container.set(Constants.Sponge.UNSAFE_NBT, NbtTranslator.getInstance().translateFrom(compound));
         }
         return container;
     }
@@ -217,7 +224,7 @@ public DataContainer toContainer() {
     @Override
     public <T extends ImmutableDataManipulator<?, ?>> Optional<T> get(Class<T> containerClass) {
         checkNotNull(containerClass);
-        for (ImmutableDataManipulator<?, ?> manipulator : this.manipulators) {
+        for (ImmutableDataManipulator<?, ?> manipulator : getManipulators()) {
             if (containerClass.isInstance(manipulator)) {
                 return Optional.of((T) manipulator);
             }
@@ -321,7 +328,7 @@ public ItemStackSnapshot merge(ItemStackSnapshot that, MergeFunction function) {
 
     @Override
     public List<ImmutableDataManipulator<?, ?>> getContainers() {
-        return this.manipulators;
+        return getManipulators();
     }
 
     @Override
@@ -346,11 +353,25 @@ public ItemStackSnapshot copy() {
 
     @Override
     public Set<Key<?>> getKeys() {
+        if (this.keys == null) {
+            final ImmutableSet.Builder<Key<?>> builder = ImmutableSet.builder();
+            for (ImmutableDataManipulator<?, ?> manipulator : getManipulators()) {
+                builder.addAll(manipulator.getKeys());
+            }
+            this.keys = builder.build();
+        }
         return this.keys;
     }
 
     @Override
     public Set<ImmutableValue<?>> getValues() {
+        if (this.values == null) {
+            final ImmutableSet.Builder<ImmutableValue<?>> builder = ImmutableSet.builder();
+            for (ImmutableDataManipulator<?, ?> manipulator : getManipulators()) {
+                builder.addAll(manipulator.getValues());
+            }
+            this.values = builder.build();
+        }
         return this.values;
     }
 
@@ -377,8 +398,9 @@ public int getDamageValue() {
     }
 
     public Optional<NBTTagCompound> getCompound() {
-        if (this.compound != null) {
-            return Optional.of(this.compound.copy());
+        final NBTTagCompound compound = resolveCompound();
+        if (compound != null) {
+            return Optional.of(compound.copy());
         }
         return Optional.empty();
     }
@@ -410,13 +432,13 @@ public boolean equals(Object o) {
         return this.quantity == that.quantity &&
                this.damageValue == that.damageValue &&
                Objects.equal(this.itemType, that.itemType) &&
-               Objects.equal(this.compound, that.compound) &&
+               Objects.equal(resolveCompound(), that.resolveCompound()) &&
                Objects.equal(this.creatorUniqueId, that.creatorUniqueId);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(this.itemType, this.quantity, this.damageValue, this.compound, this.creatorUniqueId);
+        return Objects.hashCode(this.itemType, this.quantity, this.damageValue, resolveCompound(), this.creatorUniqueId);
     }
 
 }
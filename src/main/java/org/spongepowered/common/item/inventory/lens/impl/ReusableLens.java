@@ -29,18 +29,28 @@
 import org.spongepowered.common.bridge.inventory.LensProviderBridge;
 import org.spongepowered.common.item.inventory.adapter.InventoryAdapter;
 import org.spongepowered.common.item.inventory.adapter.ReusableLensInventoryAdapaterBridge;
+import org.spongepowered.common.item.inventory.lens.Fabric;
 import org.spongepowered.common.item.inventory.lens.Lens;
 import org.spongepowered.common.item.inventory.lens.ReusableLensProvider;
 import org.spongepowered.common.item.inventory.lens.SlotProvider;
 import org.spongepowered.common.item.inventory.lens.impl.collections.SlotCollection;
 import org.spongepowered.common.item.inventory.lens.impl.comp.OrderedInventoryLensImpl;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+/**
+ * A lens tree together with the slots it was built with, shared by every
+ * inventory of the same adapter class, lens class and size. Lenses only
+ * describe the structure of an inventory and keep no state of their own,
+ * everything else is read from the {@link Fabric} passed to them.
+ */
 @SuppressWarnings("rawtypes")
 public class ReusableLens<T extends Lens> {
 
@@ -50,6 +60,7 @@
 
     private final SlotProvider slots;
     private final T lens;
+    private int uses = 1;
 
     private ReusableLens(SlotProvider slots, T lens) {
         this.slots = slots;
@@ -67,10 +78,15 @@ public static <T extends Lens> ReusableLens<T> getLens(Class<T> lensType, Invent
         Map<Class<? extends Lens>, Int2ObjectMap<ReusableLens>>
                 adapterLenses = reusableLenses.computeIfAbsent(adapter.getClass(), k -> new IdentityHashMap<>());
         Int2ObjectMap<ReusableLens> lenses = adapterLenses.computeIfAbsent(lensType, k -> new Int2ObjectOpenHashMap<>());
-        return lenses.computeIfAbsent(adapter.bridge$getFabric().fabric$getSize(), k -> {
-            SlotProvider sl = slots.get();
-            return new ReusableLens(sl, lens);
-        });
+        final int size = adapter.bridge$getFabric().fabric$getSize();
+        ReusableLens reusableLens = lenses.get(size);
+        if (reusableLens == null) {
+            reusableLens = new ReusableLens(slots.get(), lens);
+            lenses.put(size, reusableLens);
+        } else {
+            reusableLens.uses++;
+        }
+        return reusableLens;
     }
 
     public static ReusableLens getLens(ReusableLensInventoryAdapaterBridge adapter)
@@ -80,12 +96,26 @@ public static ReusableLens getLens(ReusableLensInventoryAdapaterBridge adapter)
             return ((ReusableLensProvider) adapter).bridge$generateReusableLens(adapter.bridge$getFabric(), adapter);
         }
         if (adapter instanceof LensProviderBridge) {
-            // TODO this is not actually creating lenses that will be reused
-            SlotProvider slotProvider = ((LensProviderBridge) adapter).bridge$slotProvider(adapter.bridge$getFabric(), adapter);
-            adapter.bridge$setSlotProvider(slotProvider);
-            final Lens lens = ((LensProviderBridge) adapter).bridge$rootLens(adapter.bridge$getFabric(), adapter);
-            adapter.bridge$setLens(lens);
-            return new ReusableLens<>(slotProvider, lens);
+            final LensProviderBridge provider = (LensProviderBridge) adapter;
+            final Fabric fabric = adapter.bridge$getFabric();
+            if (fabric.fabric$getSize() == 0) {
+                // Empty lenses refer to their adapter, so they can't be shared
+                SlotProvider slotProvider = provider.bridge$slotProvider(fabric, adapter);
+                adapter.bridge$setSlotProvider(slotProvider);
+                final Lens lens = provider.bridge$rootLens(fabric, adapter);
+                adapter.bridge$setLens(lens);
+                return new ReusableLens<>(slotProvider, lens);
+            }
+            final ReusableLens<Lens> reusableLens = getLens(Lens.class, adapter,
+                    () -> provider.bridge$slotProvider(fabric, adapter),
+                    (slots) -> {
+                        // The root lens is built from the slot provider of the adapter
+                        adapter.bridge$setSlotProvider(slots);
+                        return provider.bridge$rootLens(fabric, adapter);
+                    });
+            adapter.bridge$setSlotProvider(reusableLens.getSlots());
+            adapter.bridge$setLens(reusableLens.getLens());
+            return reusableLens;
         }
 
         return getLens(Lens.class, adapter,
@@ -112,6 +142,32 @@ public static ReusableLens<Lens> defaultReusableLens(InventoryAdapter adapter) {
                 (slots) -> defaultLens(adapter, slots));
     }
 
+    /**
+     * Gets statistics about every shared lens tree, for debugging.
+     *
+     * @return The statistics, one entry per shared lens tree
+     */
+    public static List<Statistics> getStatistics() {
+        final List<Statistics> statistics = new ArrayList<>();
+        reusableLenses.forEach((adapterType, adapterLenses) -> adapterLenses.forEach((lensType, lenses) ->
+                lenses.forEach((size, reusableLens) ->
+                        statistics.add(new Statistics(adapterType, lensType, size, reusableLens.uses, countLenses(reusableLens.lens))))));
+        return statistics;
+    }
+
+    private static int countLenses(Lens root) {
+        final Set<Lens> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        final List<Lens> pending = new ArrayList<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            final Lens lens = pending.remove(pending.size() - 1);
+            if (lens != null && visited.add(lens)) {
+                pending.addAll(lens.getChildren());
+            }
+        }
+        return visited.size();
+    }
+
     public SlotProvider getSlots() {
         return this.slots;
     }
@@ -119,4 +175,27 @@ public SlotProvider getSlots() {
     public T getLens() {
         return this.lens;
     }
+
+    public static final class Statistics {
+
+        public final Class<? extends InventoryAdapter> adapterType;
+        public final Class<? extends Lens> lensType;
+        public final int size;
+        /**
+         * The amount of inventories which asked for this lens tree.
+         */
+        public final int uses;
+        /**
+         * The amount of distinct lenses in this lens tree.
+         */
+        public final int lenses;
+
+        Statistics(Class<? extends InventoryAdapter> adapterType, Class<? extends Lens> lensType, int size, int uses, int lenses) {
+            this.adapterType = adapterType;
+            this.lensType = lensType;
+            this.size = size;
+            this.uses = uses;
+            this.lenses = lenses;
+        }
+    }
 }
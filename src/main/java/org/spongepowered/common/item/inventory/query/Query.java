@@ -33,7 +33,6 @@
 import org.spongepowered.common.item.inventory.lens.Fabric;
 import org.spongepowered.common.item.inventory.lens.Lens;
 import org.spongepowered.common.item.inventory.lens.MutableLensSet;
-import org.spongepowered.common.item.inventory.lens.impl.collections.MutableLensSetImpl;
 import org.spongepowered.common.item.inventory.lens.slots.SlotLens;
 import org.spongepowered.common.item.inventory.query.result.MinecraftResultAdapterProvider;
 import org.spongepowered.common.item.inventory.query.result.QueryResult;
@@ -75,7 +74,7 @@ public Inventory execute(final ResultAdapterProvider resultProvider) {
             return (Inventory) this.lens.getAdapter(this.inventory, (Inventory) this.adapter);
         }
 
-        return this.toResult(resultProvider, this.reduce(this.lens, this.depthFirstSearch(this.lens)));
+        return this.toResult(resultProvider, this.reduce(this.lens, QueryPlan.of(this.lens).match(this.lens, this.queries, this.inventory)));
     }
 
     @SuppressWarnings("unchecked")
@@ -94,29 +93,6 @@ private Inventory toResult(final ResultAdapterProvider resultProvider, final Mut
         return (Inventory) Query.defaultResultProvider.getResultAdapter(this.inventory, matches, (Inventory) this.adapter);
     }
 
-    private MutableLensSet depthFirstSearch(final Lens lens) {
-        final MutableLensSet matches = new MutableLensSetImpl(true);
-
-        for (final Lens child : lens.getChildren()) {
-            if (child == null) {
-                continue;
-            }
-            if (!child.getChildren().isEmpty()) {
-                matches.addAll(this.depthFirstSearch(child));
-            }
-            if (this.matches(child, lens, this.inventory)) {
-                matches.add(child);
-            }
-        }
-
-        // Only a single match or no matches
-        if (matches.size() < 2) {
-            return matches;
-        }
-
-        return matches;
-    }
-
     @SuppressWarnings({"rawtypes"})
     private boolean matches(final Lens lens, final Lens parent, final Fabric inventory) {
         for (final QueryOperation<?> operation : this.queries) {
@@ -0,0 +1,161 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.item.inventory.query;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.spongepowered.api.item.inventory.query.QueryOperation;
+import org.spongepowered.common.item.inventory.lens.Fabric;
+import org.spongepowered.common.item.inventory.lens.Lens;
+import org.spongepowered.common.item.inventory.lens.MutableLensSet;
+import org.spongepowered.common.item.inventory.lens.impl.collections.MutableLensSetImpl;
+import org.spongepowered.common.item.inventory.lens.slots.SlotLens;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * The lens tree below a root lens, flattened into the order in which
+ * {@link Query} visits it. Lens trees do not change once they are built,
+ * so the matches of {@link SpongeQueryOperation#isStructural() structural}
+ * operations are computed once per root lens and reused, and operations
+ * which only match slots are only tested against the slot lenses.
+ *
+ * <p>Plans are weakly keyed by their root lens, so they must never reference
+ * it. The root is passed in when matching instead of being kept as the parent
+ * of its children.</p>
+ */
+final class QueryPlan {
+
+    private static final LoadingCache<Lens, QueryPlan> plans = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build(new CacheLoader<Lens, QueryPlan>() {
+                @Override
+                public QueryPlan load(final Lens root) {
+                    return new QueryPlan(root);
+                }
+            });
+
+    static QueryPlan of(final Lens root) {
+        return QueryPlan.plans.getUnchecked(root);
+    }
+
+    private final Lens[] lenses;
+    // The parent of each lens, null if it is the root
+    private final Lens[] parents;
+    private final int[] slots;
+    private final Map<SpongeQueryOperation<?>, BitSet> structuralMatches = new ConcurrentHashMap<>();
+
+    private QueryPlan(final Lens root) {
+        final List<Lens> lenses = new ArrayList<>();
+        final List<Lens> parents = new ArrayList<>();
+        QueryPlan.flatten(root, null, lenses, parents);
+        this.lenses = lenses.toArray(new Lens[0]);
+        this.parents = parents.toArray(new Lens[0]);
+
+        int slotCount = 0;
+        final int[] slots = new int[this.lenses.length];
+        for (int i = 0; i < this.lenses.length; i++) {
+            if (this.lenses[i] instanceof SlotLens) {
+                slots[slotCount++] = i;
+            }
+        }
+        this.slots = slotCount == slots.length ? slots : Arrays.copyOf(slots, slotCount);
+    }
+
+    private static void flatten(final Lens lens, @Nullable final Lens parent, final List<Lens> lenses, final List<Lens> parents) {
+        for (final Lens child : lens.getChildren()) {
+            if (child == null) {
+                continue;
+            }
+            if (!child.getChildren().isEmpty()) {
+                QueryPlan.flatten(child, child, lenses, parents);
+            }
+            lenses.add(child);
+            parents.add(parent);
+        }
+    }
+
+    private Lens parent(final Lens root, final int index) {
+        final Lens parent = this.parents[index];
+        return parent == null ? root : parent;
+    }
+
+    /**
+     * Gets every lens below the root lens matching any of the given
+     * operations, in the order a depth first search finds them.
+     *
+     * @param root The root lens this plan was created for
+     * @param queries The operations to match
+     * @param inventory The fabric the operations are evaluated against
+     * @return The matching lenses
+     */
+    @SuppressWarnings("rawtypes")
+    MutableLensSet match(final Lens root, final QueryOperation<?>[] queries, final Fabric inventory) {
+        final BitSet matches = new BitSet(this.lenses.length);
+        for (final QueryOperation<?> query : queries) {
+            final SpongeQueryOperation operation = (SpongeQueryOperation) query;
+            if (operation.isStructural()) {
+                matches.or(this.structuralMatches.computeIfAbsent(operation, op -> this.evaluate(op, root, inventory)));
+            } else if (operation.matchesSlotsOnly()) {
+                for (final int index : this.slots) {
+                    if (!matches.get(index) && operation.matches(this.lenses[index], this.parent(root, index), inventory)) {
+                        matches.set(index);
+                    }
+                }
+            } else {
+                for (int index = 0; index < this.lenses.length; index++) {
+                    if (!matches.get(index) && operation.matches(this.lenses[index], this.parent(root, index), inventory)) {
+                        matches.set(index);
+                    }
+                }
+            }
+        }
+
+        final MutableLensSet result = new MutableLensSetImpl(true);
+        for (int index = matches.nextSetBit(0); index >= 0; index = matches.nextSetBit(index + 1)) {
+            result.add(this.lenses[index]);
+        }
+        return result;
+    }
+
+    private BitSet evaluate(final SpongeQueryOperation<?> operation, final Lens root, final Fabric inventory) {
+        final BitSet matches = new BitSet(this.lenses.length);
+        for (int index = 0; index < this.lenses.length; index++) {
+            if (operation.matches(this.lenses[index], this.parent(root, index), inventory)) {
+                matches.set(index);
+            }
+        }
+        return matches;
+    }
+
+}
@@ -45,4 +45,25 @@ public final QueryOperationType<T> getType() {
     public abstract boolean matches(Lens lens, Lens parent,
             Fabric inventory);
 
+    /**
+     * Gets whether this operation only looks at the lens tree and never at
+     * the contents of the inventory, so its matches can be cached per root
+     * lens. Structural operations must implement equals and hashCode.
+     *
+     * @return Whether this operation is structural
+     */
+    public boolean isStructural() {
+        return false;
+    }
+
+    /**
+     * Gets whether this operation can only ever match {@link
+     * org.spongepowered.common.item.inventory.lens.slots.SlotLens slot lenses}.
+     *
+     * @return Whether this operation only matches slots
+     */
+    public boolean matchesSlotsOnly() {
+        return false;
+    }
+
 }
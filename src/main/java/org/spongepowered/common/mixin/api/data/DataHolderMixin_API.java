@@ -45,6 +45,7 @@
 import org.spongepowered.api.data.value.immutable.ImmutableValue;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.common.bridge.data.CustomDataHolderBridge;
+import org.spongepowered.common.data.DataChangeCollector;
 import org.spongepowered.common.data.DataProcessor;
 import org.spongepowered.common.data.SpongeDataManager;
 import org.spongepowered.common.data.ValueProcessor;
@@ -184,11 +185,13 @@ public <E> DataTransactionResult offer(final Key<? extends BaseValue<E>> key, fi
             final DataTransactionResult result = optional.get().offerToStore(holder, value);
             SpongeTimings.dataOfferKey.stopTimingIfSync();
             TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
+            DataChangeCollector.record(this, result);
             return result;
         } else if (this instanceof CustomDataHolderBridge) {
             final DataTransactionResult result = ((CustomDataHolderBridge) holder).bridge$offerCustom(key, value);
             SpongeTimings.dataOfferKey.stopTimingIfSync();
             TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
+            DataChangeCollector.record(this, result);
             return result;
         }
         SpongeTimings.dataOfferKey.stopTimingIfSync();
@@ -211,11 +214,13 @@ public DataTransactionResult offer(final DataManipulator<?, ?> valueContainer, f
             final DataTransactionResult result = optional.get().set(holder, valueContainer, checkNotNull(function));
             SpongeTimings.dataOfferManipulator.stopTimingIfSync();
             TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
+            DataChangeCollector.record(this, result);
             return result;
         } else if (this instanceof CustomDataHolderBridge) {
             final DataTransactionResult result = ((CustomDataHolderBridge) holder).bridge$offerCustom(valueContainer, function);
             SpongeTimings.dataOfferManipulator.stopTimingIfSync();
             TimingsManager.DATA_GROUP_HANDLER.stopTimingIfSync();
+            DataChangeCollector.record(this, result);
             return result;
         }
         SpongeTimings.dataOfferManipulator.stopTimingIfSync();
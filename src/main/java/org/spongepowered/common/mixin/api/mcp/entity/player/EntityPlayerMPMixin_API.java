@@ -34,7 +34,6 @@
 import net.minecraft.network.NetHandlerPlayServer;
 import net.minecraft.network.Packet;
 import net.minecraft.network.play.server.SPacketBlockChange;
-import net.minecraft.network.play.server.SPacketChat;
 import net.minecraft.network.play.server.SPacketCustomSound;
 import net.minecraft.network.play.server.SPacketResourcePackSend;
 import net.minecraft.network.play.server.SPacketSoundEffect;
@@ -43,7 +42,6 @@
 import net.minecraft.server.management.PlayerInteractionManager;
 import net.minecraft.util.SoundEvent;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.TextComponentTranslation;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.advancement.Advancement;
@@ -129,6 +127,7 @@
 import org.spongepowered.common.mixin.core.util.SoundEventsAccessor;
 import org.spongepowered.common.mixin.core.world.border.WorldBorderAccessor;
 import org.spongepowered.common.text.SpongeTexts;
+import org.spongepowered.common.text.chat.ChatPacketCache;
 import org.spongepowered.common.util.BookFaker;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.LocaleCache;
@@ -220,12 +219,7 @@ public void sendMessage(final ChatType type, final Text message) {
         checkNotNull(type, "type");
         checkNotNull(message, "message");
 
-        ITextComponent component = SpongeTexts.toComponent(message);
-        if (type == ChatTypes.ACTION_BAR) {
-            component = SpongeTexts.fixActionBarFormatting(component);
-        }
-
-        this.connection.sendPacket(new SPacketChat(component, (net.minecraft.util.text.ChatType) (Object) type));
+        this.connection.sendPacket(ChatPacketCache.createPacket(message, type));
     }
 
     @Override
@@ -50,6 +50,7 @@
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.gen.ChunkProviderServer;
+import net.minecraft.world.gen.structure.StructureBoundingBox;
 import org.apache.logging.log4j.Level;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockSnapshot;
@@ -108,12 +109,14 @@
 import org.spongepowered.common.util.NonNullArrayList;
 import org.spongepowered.common.world.SpongeBlockChangeFlag;
 import org.spongepowered.common.world.WorldManager;
+import org.spongepowered.common.world.tick.ScheduledTickQueue;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -197,7 +200,11 @@ public boolean save() throws IOException {
     public Collection<ScheduledBlockUpdate> getScheduledUpdates(final int x, final int y, final int z) {
         final BlockPos position = new BlockPos(x, y, z);
         final ImmutableList.Builder<ScheduledBlockUpdate> builder = ImmutableList.builder();
-        for (final NextTickListEntry sbu : this.pendingTickListEntriesTreeSet) {
+        final Iterator<NextTickListEntry> iterator = this.pendingTickListEntriesTreeSet instanceof ScheduledTickQueue
+                ? ((ScheduledTickQueue) this.pendingTickListEntriesTreeSet).iterator(new StructureBoundingBox(x, y, z, x, y, z))
+                : this.pendingTickListEntriesTreeSet.iterator();
+        while (iterator.hasNext()) {
+            final NextTickListEntry sbu = iterator.next();
             if (sbu.position.equals(position)) {
                 builder.add((ScheduledBlockUpdate) sbu);
             }
@@ -41,6 +41,7 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.common.bridge.util.text.ITextComponentBridge;
 import org.spongepowered.common.bridge.api.text.TextBridge;
+import org.spongepowered.common.text.TextComponentCache;
 import org.spongepowered.common.text.action.SpongeClickAction;
 import org.spongepowered.common.text.action.SpongeHoverAction;
 import org.spongepowered.common.text.format.SpongeTextColor;
@@ -57,57 +58,71 @@ public abstract class TextMixin implements TextBridge {
     @Shadow @Final Optional<HoverAction<?>> hoverAction;
     @Shadow @Final Optional<ShiftClickAction<?>> shiftClickAction;
 
-    private ITextComponent component;
-    private String json;
+    private TextComponentCache.Entry impl$entry;
 
     protected TextComponentBase createComponent() {
         throw new UnsupportedOperationException();
     }
 
-    private ITextComponent initializeComponent() {
-        if (this.component == null) {
-            this.component = createComponent();
-            Style style = this.component.getStyle();
+    private ITextComponent buildComponent() {
+        final ITextComponent component = createComponent();
+        Style style = component.getStyle();
 
-            if (this.format.getColor() != TextColors.NONE) {
-                style.setColor(((SpongeTextColor) this.format.getColor()).getHandle());
-            }
+        if (this.format.getColor() != TextColors.NONE) {
+            style.setColor(((SpongeTextColor) this.format.getColor()).getHandle());
+        }
 
-            if (!this.format.getStyle().isEmpty()) {
-                style.setBold(this.format.getStyle().isBold().orElse(null));
-                style.setItalic(this.format.getStyle().isItalic().orElse(null));
-                style.setUnderlined(this.format.getStyle().hasUnderline().orElse(null));
-                style.setStrikethrough(this.format.getStyle().hasStrikethrough().orElse(null));
-                style.setObfuscated(this.format.getStyle().isObfuscated().orElse(null));
-            }
+        if (!this.format.getStyle().isEmpty()) {
+            style.setBold(this.format.getStyle().isBold().orElse(null));
+            style.setItalic(this.format.getStyle().isItalic().orElse(null));
+            style.setUnderlined(this.format.getStyle().hasUnderline().orElse(null));
+            style.setStrikethrough(this.format.getStyle().hasStrikethrough().orElse(null));
+            style.setObfuscated(this.format.getStyle().isObfuscated().orElse(null));
+        }
 
-            if (this.clickAction.isPresent()) {
-                style.setClickEvent(SpongeClickAction.getHandle(this.clickAction.get()));
-            }
+        if (this.clickAction.isPresent()) {
+            style.setClickEvent(SpongeClickAction.getHandle(this.clickAction.get()));
+        }
 
-            if (this.hoverAction.isPresent()) {
-                style.setHoverEvent(SpongeHoverAction.getHandle(this.hoverAction.get()));
-            }
+        if (this.hoverAction.isPresent()) {
+            style.setHoverEvent(SpongeHoverAction.getHandle(this.hoverAction.get()));
+        }
 
-            if (this.shiftClickAction.isPresent()) {
-                ShiftClickAction.InsertText insertion = (ShiftClickAction.InsertText) this.shiftClickAction.get();
-                style.setInsertion(insertion.getResult());
-            }
+        if (this.shiftClickAction.isPresent()) {
+            ShiftClickAction.InsertText insertion = (ShiftClickAction.InsertText) this.shiftClickAction.get();
+            style.setInsertion(insertion.getResult());
+        }
 
-            for (Text child : this.children) {
-                this.component.appendSibling(((TextBridge) child).bridge$toComponent());
-            }
+        for (Text child : this.children) {
+            component.appendSibling(((TextBridge) child).bridge$toComponent());
         }
 
-        return this.component;
+        return component;
+    }
+
+    private TextComponentCache.Entry getEntry() {
+        TextComponentCache.Entry entry = this.impl$entry;
+        if (entry == null) {
+            final Text text = (Text) (Object) this;
+            if (TextComponentCache.isShareable(text)) {
+                // Equal texts share their component
+                entry = TextComponentCache.get(text, this::buildComponent);
+            } else {
+                // Scores, selectors and callbacks are resolved when built, only this instance may keep them
+                entry = TextComponentCache.createUnshared(buildComponent());
+            }
+            this.impl$entry = entry;
+        }
+        return entry;
     }
 
     private ITextComponent getHandle() {
-        return initializeComponent();
+        return getEntry().component;
     }
 
     @Override
     public ITextComponent bridge$toComponent() {
+        TextComponentCache.recordConversion();
         return getHandle().createCopy(); // Mutable instances are not nice :(
     }
 
@@ -139,11 +154,7 @@ public final String toPlainSingle() {
 
     @Override
     public String bridge$toJson() {
-        if (this.json == null) {
-            this.json = ITextComponent.Serializer.componentToJson(getHandle());
-        }
-
-        return this.json;
+        return getEntry().getJson();
     }
 
     @Override
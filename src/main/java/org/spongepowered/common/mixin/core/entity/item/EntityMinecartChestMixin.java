@@ -29,8 +29,8 @@
 import org.spongepowered.asm.mixin.Implements;
 import org.spongepowered.asm.mixin.Interface;
 import org.spongepowered.asm.mixin.Mixin;
-import org.spongepowered.common.item.inventory.lens.Lens;
-import org.spongepowered.common.item.inventory.lens.SlotProvider;
+import org.spongepowered.common.item.inventory.lens.impl.ReusableLens;
+import org.spongepowered.common.item.inventory.lens.impl.collections.SlotCollection;
 import org.spongepowered.common.item.inventory.lens.impl.minecraft.SingleGridLens;
 
 @Mixin(EntityMinecartChest.class)
@@ -38,7 +38,9 @@
 public abstract class EntityMinecartChestMixin extends EntityMinecartContainerMixin {
 
     @Override
-    public Lens bridge$generateLens(SlotProvider slots) {
-        return new SingleGridLens(0, 9, 3, (Class) EntityMinecartChest.class, this.bridge$getSlotProvider());
+    protected ReusableLens<?> impl$createReusableLens() {
+        return ReusableLens.getLens(SingleGridLens.class, this,
+                () -> new SlotCollection.Builder().add(this.getSizeInventory()).build(),
+                slots -> new SingleGridLens(0, 9, 3, (Class) EntityMinecartChest.class, slots));
     }
 }
@@ -35,6 +35,7 @@
 import org.spongepowered.common.item.inventory.lens.Lens;
 import org.spongepowered.common.item.inventory.lens.SlotProvider;
 import org.spongepowered.common.item.inventory.lens.impl.DefaultEmptyLens;
+import org.spongepowered.common.item.inventory.lens.impl.ReusableLens;
 import org.spongepowered.common.item.inventory.lens.impl.minecraft.SingleOrderedLens;
 import org.spongepowered.common.item.inventory.lens.impl.collections.SlotCollection;
 
@@ -45,6 +46,8 @@ public abstract class EntityMinecartContainerMixin extends EntityMinecartMixin i
 
     @Shadow private boolean dropContentsWhenDead;
 
+    @Nullable private ReusableLens<?> impl$reusableLens;
+
     /**
      * @author Zidane - June 2019 - 1.12.2
      * @reason Only have this Minecart not drop contents if we actually changed dimension
@@ -64,14 +67,31 @@ public Entity changeDimension(int dimensionIn) {
 
     @Override
     public SlotProvider bridge$generateSlotProvider() {
-        return new SlotCollection.Builder().add(this.getSizeInventory()).build();
+        if (this.getSizeInventory() == 0) {
+            return new SlotCollection.Builder().add(0).build();
+        }
+        return this.impl$getReusableLens().getSlots();
     }
 
     @Override
     public Lens bridge$generateLens(SlotProvider slots) {
         return this.getSizeInventory() == 0
                 ? new DefaultEmptyLens(this)
-                : new SingleOrderedLens(0, this.getSizeInventory(), (Class) this.getClass(), slots);
+                : this.impl$getReusableLens().getLens();
+    }
+
+    private ReusableLens<?> impl$getReusableLens() {
+        // Both the slots and the lens come from here, only ask for the shared lens once so it is counted once
+        if (this.impl$reusableLens == null) {
+            this.impl$reusableLens = this.impl$createReusableLens();
+        }
+        return this.impl$reusableLens;
+    }
+
+    protected ReusableLens<?> impl$createReusableLens() {
+        return ReusableLens.getLens(SingleOrderedLens.class, this,
+                () -> new SlotCollection.Builder().add(this.getSizeInventory()).build(),
+                slots -> new SingleOrderedLens(0, this.getSizeInventory(), (Class) this.getClass(), slots));
     }
 
 }
@@ -71,6 +71,7 @@
 import org.spongepowered.common.bridge.inventory.LensProviderBridge;
 import org.spongepowered.common.bridge.inventory.TrackedInventoryBridge;
 import org.spongepowered.common.bridge.item.inventory.InventoryAdapterBridge;
+import org.spongepowered.common.bridge.optimization.SlotTrackedInventoryBridge;
 import org.spongepowered.common.event.SpongeCommonEventFactory;
 import org.spongepowered.common.event.tracking.phase.packet.PacketPhaseUtil;
 import org.spongepowered.common.item.inventory.adapter.InventoryAdapter;
@@ -84,6 +85,8 @@
 import org.spongepowered.common.item.inventory.util.ItemStackUtil;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -119,6 +122,10 @@ public abstract class ContainerMixin implements ContainerBridge, InventoryAdapte
     private boolean impl$captureSuccess = false;
     private boolean impl$captureInventory = false;
     private boolean impl$shiftCraft = false;
+    private boolean impl$onlyDirtySlots = false;
+    private final BitSet impl$dirtySlots = new BitSet();
+    // The change count of each slot's inventory when the slot was last compared, -1 if it wasn't yet
+    private int[] impl$slotChangeCounts = new int[0];
     //private boolean postPreCraftEvent = true; // used to prevent multiple craft events to fire when setting multiple slots simultaneously
     private List<SlotTransaction> impl$capturedSlotTransactions = new ArrayList<>();
     private List<SlotTransaction> impl$capturedCurrentCraftShiftTransactions = new ArrayList<>();
@@ -237,7 +244,11 @@ public void addListener(final IContainerListener listener) {
      */
     @Overwrite
     public void detectAndSendChanges() {
-        this.bridge$detectAndSendChanges(false);
+        if (this.impl$onlyDirtySlots) {
+            this.impl$detectAndSendDirtyChanges();
+        } else {
+            this.bridge$detectAndSendChanges(false);
+        }
         this.impl$captureSuccess = true; // Detect mod overrides
     }
 
@@ -249,49 +260,108 @@ public void detectAndSendChanges() {
     @Override
     public void bridge$detectAndSendChanges(final boolean captureOnly) {
         for (int i = 0; i < this.inventorySlots.size(); ++i) {
-            final Slot slot = this.inventorySlots.get(i);
-            final ItemStack itemstack = slot.getStack();
-            ItemStack itemstack1 = this.inventoryItemStacks.get(i);
-
-            if (!ItemStack.areItemStacksEqual(itemstack1, itemstack)) {
-
-                // Sponge start
-                if (this.impl$captureInventory) {
-                    final ItemStackSnapshot originalItem = itemstack1.isEmpty() ? ItemStackSnapshot.NONE
-                            : ((org.spongepowered.api.item.inventory.ItemStack) itemstack1).createSnapshot();
-                    final ItemStackSnapshot newItem = itemstack.isEmpty() ? ItemStackSnapshot.NONE
-                            : ((org.spongepowered.api.item.inventory.ItemStack) itemstack).createSnapshot();
-
-                    org.spongepowered.api.item.inventory.Slot adapter = null;
-                    try {
-                        adapter = this.bridge$getContainerSlot(i);
-                        SlotTransaction newTransaction = new SlotTransaction(adapter, originalItem, newItem);
-                        if (this.impl$shiftCraft) {
-                            this.impl$capturedCurrentCraftShiftTransactions.add(newTransaction);
-                        } else if (!newTransaction.equals(this.impl$capturedCraftPreviewTransaction)) { // Check if Preview transaction is this transaction
-                            this.impl$capturedSlotTransactions.add(newTransaction);
-                        }
-                    } catch (IndexOutOfBoundsException e) {
-                        SpongeImpl.getLogger().error("SlotIndex out of LensBounds! Did the Container change after creation?", e);
-                    }
+            this.impl$detectSlotChange(i, captureOnly);
+        }
+        if (!captureOnly) {
+            this.impl$dirtySlots.clear();
+        }
+        this.impl$markClean();
+    }
 
-                    // This flag is set only when the client sends an invalid CPacketWindowClickItem packet.
-                    // We simply capture in order to send the proper changes back to client.
-                    if (captureOnly) {
-                        continue;
+    /**
+     * Only compares the slots that were changed through the container, or
+     * whose inventory was marked dirty, since they were last compared. Slots
+     * of inventories that don't count their changes, such as the player's,
+     * are always compared. Stacks modified in place without marking their
+     * inventory dirty have to wait for the next full scan.
+     */
+    private void impl$detectAndSendDirtyChanges() {
+        for (int i = 0; i < this.inventorySlots.size(); ++i) {
+            if (this.impl$dirtySlots.get(i) || this.impl$hasInventoryChanged(i)) {
+                this.impl$detectSlotChange(i, false);
+            }
+        }
+        this.impl$dirtySlots.clear();
+        this.impl$markClean();
+    }
+
+    private boolean impl$hasInventoryChanged(final int i) {
+        final IInventory inventory = this.inventorySlots.get(i).inventory;
+        if (!(inventory instanceof SlotTrackedInventoryBridge) || i >= this.impl$slotChangeCounts.length) {
+            return true;
+        }
+        return ((SlotTrackedInventoryBridge) inventory).slotTrackingBridge$getChangeCount() != this.impl$slotChangeCounts[i];
+    }
+
+    private void impl$recordChangeCount(final int i, final Slot slot) {
+        if (!(slot.inventory instanceof SlotTrackedInventoryBridge)) {
+            return;
+        }
+        if (i >= this.impl$slotChangeCounts.length) {
+            final int length = this.impl$slotChangeCounts.length;
+            this.impl$slotChangeCounts = Arrays.copyOf(this.impl$slotChangeCounts, Math.max(i + 1, this.inventorySlots.size()));
+            Arrays.fill(this.impl$slotChangeCounts, length, this.impl$slotChangeCounts.length, -1);
+        }
+        this.impl$slotChangeCounts[i] = ((SlotTrackedInventoryBridge) slot.inventory).slotTrackingBridge$getChangeCount();
+    }
+
+    private void impl$detectSlotChange(final int i, final boolean captureOnly) {
+        final Slot slot = this.inventorySlots.get(i);
+        if (!captureOnly) {
+            this.impl$recordChangeCount(i, slot);
+        }
+        final ItemStack itemstack = slot.getStack();
+        ItemStack itemstack1 = this.inventoryItemStacks.get(i);
+
+        if (!ItemStack.areItemStacksEqual(itemstack1, itemstack)) {
+
+            // Sponge start
+            if (this.impl$captureInventory) {
+                final ItemStackSnapshot originalItem = itemstack1.isEmpty() ? ItemStackSnapshot.NONE
+                        : ((org.spongepowered.api.item.inventory.ItemStack) itemstack1).createSnapshot();
+                final ItemStackSnapshot newItem = itemstack.isEmpty() ? ItemStackSnapshot.NONE
+                        : ((org.spongepowered.api.item.inventory.ItemStack) itemstack).createSnapshot();
+
+                org.spongepowered.api.item.inventory.Slot adapter = null;
+                try {
+                    adapter = this.bridge$getContainerSlot(i);
+                    SlotTransaction newTransaction = new SlotTransaction(adapter, originalItem, newItem);
+                    if (this.impl$shiftCraft) {
+                        this.impl$capturedCurrentCraftShiftTransactions.add(newTransaction);
+                    } else if (!newTransaction.equals(this.impl$capturedCraftPreviewTransaction)) { // Check if Preview transaction is this transaction
+                        this.impl$capturedSlotTransactions.add(newTransaction);
                     }
+                } catch (IndexOutOfBoundsException e) {
+                    SpongeImpl.getLogger().error("SlotIndex out of LensBounds! Did the Container change after creation?", e);
                 }
-                // Sponge end
-
-                itemstack1 = itemstack.copy();
-                this.inventoryItemStacks.set(i, itemstack1);
 
-                for (final IContainerListener listener : this.listeners) {
-                    listener.sendSlotContents((Container) (Object) this, i, itemstack1);
+                // This flag is set only when the client sends an invalid CPacketWindowClickItem packet.
+                // We simply capture in order to send the proper changes back to client.
+                if (captureOnly) {
+                    return;
                 }
             }
+            // Sponge end
+
+            itemstack1 = itemstack.copy();
+            this.inventoryItemStacks.set(i, itemstack1);
+
+            for (final IContainerListener listener : this.listeners) {
+                listener.sendSlotContents((Container) (Object) this, i, itemstack1);
+            }
         }
-        this.impl$markClean();
+    }
+
+    @Override
+    public void bridge$markSlotDirty(final int slotId) {
+        if (slotId >= 0) {
+            this.impl$dirtySlots.set(slotId);
+        }
+    }
+
+    @Override
+    public void bridge$setOnlyDirtySlots(final boolean onlyDirtySlots) {
+        this.impl$onlyDirtySlots = onlyDirtySlots;
     }
 
     protected void impl$markClean() {
@@ -308,6 +378,7 @@ public void detectAndSendChanges() {
 
     @Inject(method = "putStackInSlot", at = @At(value = "HEAD") )
     private void impl$addTransaction(final int slotId, final ItemStack itemstack, final CallbackInfo ci) {
+        this.bridge$markSlotDirty(slotId);
         if (this.impl$captureInventory) {
             final Slot slot = shadow$getSlot(slotId);
             if (slot != null) {
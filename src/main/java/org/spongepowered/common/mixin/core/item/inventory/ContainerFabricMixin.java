@@ -34,6 +34,7 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.inventory.ContainerBridge;
 import org.spongepowered.common.bridge.item.inventory.InventoryBridge;
 import org.spongepowered.common.item.inventory.adapter.InventoryAdapter;
 import org.spongepowered.common.item.inventory.lens.Fabric;
@@ -84,6 +85,7 @@ public abstract class ContainerFabricMixin implements Fabric, InventoryBridge {
     @Override
     public void fabric$setStack(int index, ItemStack stack) {
         this.getSlot(index).putStack(stack);
+        ((ContainerBridge) this).bridge$markSlotDirty(index);
     }
 
     @Override
@@ -109,6 +111,7 @@ public abstract class ContainerFabricMixin implements Fabric, InventoryBridge {
     public void fabric$clear() {
         for (Slot slot : this.inventorySlots) {
             slot.putStack(ItemStack.EMPTY);
+            ((ContainerBridge) this).bridge$markSlotDirty(slot.slotNumber);
         }
     }
 
@@ -53,6 +53,7 @@
 import net.minecraft.network.play.client.CPacketPlayerTryUseItemOnBlock;
 import net.minecraft.network.play.client.CPacketResourcePackStatus;
 import net.minecraft.network.play.client.CPacketSpectate;
+import net.minecraft.network.play.client.CPacketTabComplete;
 import net.minecraft.network.play.client.CPacketUpdateSign;
 import net.minecraft.network.play.client.CPacketUseEntity;
 import net.minecraft.network.play.client.CPacketVehicleMove;
@@ -122,6 +123,7 @@
 import org.spongepowered.common.bridge.network.NetHandlerPlayServerBridge;
 import org.spongepowered.common.bridge.packet.SPacketResourcePackSendBridge;
 import org.spongepowered.common.bridge.server.management.PlayerInteractionManagerBridge;
+import org.spongepowered.common.command.AsyncTabCompletion;
 import org.spongepowered.common.entity.EntityUtil;
 import org.spongepowered.common.entity.player.tab.SpongeTabList;
 import org.spongepowered.common.event.ShouldFire;
@@ -236,6 +238,15 @@ public abstract class NetHandlerPlayServerMixin implements NetHandlerPlayServerB
         }
     }
 
+    @Inject(method = "processTabComplete", cancellable = true,
+            at = @At(value = "INVOKE", shift = At.Shift.AFTER,
+                target = "Lnet/minecraft/network/PacketThreadUtil;checkThreadAndEnqueue(Lnet/minecraft/network/Packet;Lnet/minecraft/network/INetHandler;Lnet/minecraft/util/IThreadListener;)V"))
+    private void impl$completeAsynchronously(final CPacketTabComplete packetIn, final CallbackInfo ci) {
+        if (AsyncTabCompletion.tryComplete(this.player, packetIn)) {
+            ci.cancel();
+        }
+    }
+
     @Redirect(method = "processUpdateSign",
             at = @At(value = "INVOKE", target = "Lnet/minecraft/network/play/client/CPacketUpdateSign;getLines()[Ljava/lang/String;"))
     private String[] impl$callSignChangeEvent(CPacketUpdateSign packetIn) {
@@ -40,6 +40,7 @@
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.common.bridge.entity.EntityBridge;
+import org.spongepowered.common.data.DataChangeCollector;
 import org.spongepowered.common.data.datasync.DataParameterConverter;
 import org.spongepowered.common.bridge.packet.DataParameterBridge;
 
@@ -78,6 +79,7 @@ public <T> void set(final DataParameter<T> key, T value) {
         final T currentValue = dataentry.getValue();
         final T incomingValue = value;
         if (ObjectUtils.notEqual(value, currentValue)) { // Sponge - change dataentry.getValue() to use local variable
+            DataTransactionResult changes = null;
             // Sponge Start - retrieve the associated key, if available
             // Client side can have an entity, because reasons.......
             // Really silly reasons......
@@ -100,6 +102,7 @@ public <T> void set(final DataParameter<T> key, T value) {
                             //If the event is cancelled, well, don't change the underlying value.
                             return;
                         }
+                        changes = event.getEndResult();
                         try {
                             value = converter.get().getValueFromEvent(currentValue, event.getEndResult().getSuccessfulData());
                         } catch (Exception e) {
@@ -114,6 +117,9 @@ public <T> void set(final DataParameter<T> key, T value) {
             this.entity.notifyDataManagerChange(key);
             dataentry.setDirty(true);
             this.dirty = true;
+            if (changes != null) {
+                DataChangeCollector.record((DataHolder) this.entity, changes);
+            }
         }
     }
 }
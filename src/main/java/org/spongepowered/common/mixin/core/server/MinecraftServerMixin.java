@@ -80,6 +80,7 @@
 import org.spongepowered.common.command.SpongeCommandManager;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.type.WorldConfig;
+import org.spongepowered.common.data.DataChangeCollector;
 import org.spongepowered.common.event.tracking.CauseTrackerCrashHandler;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.general.GeneralPhase;
@@ -316,6 +317,7 @@ private void onServerTickStart(final CallbackInfo ci) {
     @Inject(method = "tick", at = @At(value = "RETURN"))
     private void impl$completePhaseTracker(final CallbackInfo ci) {
         PhaseTracker.getInstance().ensureEmpty();
+        DataChangeCollector.flush();
         TimingsManager.FULL_SERVER_TICK.stopTiming();
     }
 
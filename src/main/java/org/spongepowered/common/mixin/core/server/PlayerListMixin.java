@@ -109,6 +109,7 @@
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.WorldManager;
 import org.spongepowered.common.world.storage.SpongePlayerDataHandler;
+import org.spongepowered.common.world.storage.WorldUserCache;
 
 import java.io.File;
 import java.net.SocketAddress;
@@ -437,6 +438,12 @@ private void onPlayerLogOut(final EntityPlayerMP player, final CallbackInfo ci)
         ((ServerScoreboardBridge) ((Player) player).getScoreboard()).bridge$removePlayer(player, false);
     }
 
+    @Inject(method = "playerLoggedOut(Lnet/minecraft/entity/player/EntityPlayerMP;)V", at = @At("RETURN"))
+    private void impl$invalidateCachedUserOnLogOut(final EntityPlayerMP player, final CallbackInfo ci) {
+        // The stored user data was just written, drop the copy resolved before the player logged in
+        WorldUserCache.invalidateAll(player.getUniqueID());
+    }
+
     @Redirect(method = "playerLoggedOut(Lnet/minecraft/entity/player/EntityPlayerMP;)V", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/WorldServer;removeEntity(Lnet/minecraft/entity/Entity;)V"))
     private void onPlayerRemoveFromWorldFromDisconnect(final WorldServer world, final Entity player, final EntityPlayerMP playerMP) {
         try (final GeneralizedContext context = PlayerPhase.State.PLAYER_LOGOUT.createPhaseContext().source(playerMP)) {
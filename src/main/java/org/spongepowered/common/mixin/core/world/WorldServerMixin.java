@@ -151,6 +151,7 @@
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
+import org.spongepowered.common.bridge.world.chunk.ExtendedBlockStorageBridge_RandomTick;
 import org.spongepowered.common.bridge.world.gen.PopulatorProviderBridge;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.category.WorldCategory;
@@ -694,6 +695,11 @@ protected void updateBlocks() {
                 {
                     if (extendedblockstorage != net.minecraft.world.chunk.Chunk.NULL_BLOCK_STORAGE && extendedblockstorage.needsRandomTick())
                     {
+                        // Sponge start - skip samples that cannot land on a randomly ticking block
+                        final long[] randomTickBits = extendedblockstorage instanceof ExtendedBlockStorageBridge_RandomTick
+                                ? ((ExtendedBlockStorageBridge_RandomTick) extendedblockstorage).randomTickBridge$getRandomTickingBits()
+                                : null;
+                        // Sponge end
                         for (int i1 = 0; i1 < i; ++i1)
                         {
                             this.updateLCG = this.updateLCG * 3 + 1013904223;
@@ -701,6 +707,14 @@ protected void updateBlocks() {
                             final int k1 = j1 & 15;
                             final int l1 = j1 >> 8 & 15;
                             final int i2 = j1 >> 16 & 15;
+                            // Sponge start
+                            if (randomTickBits != null) {
+                                final int index = i2 << 8 | l1 << 4 | k1;
+                                if ((randomTickBits[index >>> 6] & 1L << index) == 0) {
+                                    continue;
+                                }
+                            }
+                            // Sponge end
                             final IBlockState iblockstate = extendedblockstorage.get(k1, i2, l1);
                             final Block block = iblockstate.getBlock();
                             this.profiler.startSection("randomTick");
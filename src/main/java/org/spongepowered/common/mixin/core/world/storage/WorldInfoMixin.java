@@ -66,6 +66,7 @@
 import org.spongepowered.common.registry.type.world.WorldGeneratorModifierRegistryModule;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.world.WorldManager;
+import org.spongepowered.common.world.storage.WorldUserCache;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -92,6 +93,7 @@ public abstract class WorldInfoMixin implements WorldInfoBridge {
     private final NBTTagList impl$playerUniqueIdNbt = new NBTTagList();
     private final BiMap<Integer, UUID> impl$playerUniqueIdMap = HashBiMap.create();
     private final List<UUID> impl$pendingUniqueIds = new ArrayList<>();
+    private final WorldUserCache impl$userCache = new WorldUserCache();
     private int impl$trackedUniqueIdCount = 0;
     private boolean impl$hasCustomDifficulty = false;
     private boolean impl$isMod = false;
@@ -343,6 +345,11 @@ private void setDoesGenerateBonusChest(final boolean state) {
         return Optional.ofNullable(this.impl$playerUniqueIdMap.get(index));
     }
 
+    @Override
+    public WorldUserCache bridge$getUserCache() {
+        return this.impl$userCache;
+    }
+
     @Override
     public NBTTagCompound bridge$getSpongeRootLevelNbt() {
         this.writeSpongeNbt();
@@ -374,6 +381,7 @@ private void setDoesGenerateBonusChest(final boolean state) {
         this.impl$portalAgentType = PortalAgentRegistryModule.getInstance().validatePortalAgent(nbt.getString(Constants.Sponge.World.PORTAL_AGENT_TYPE), this.levelName);
         this.impl$hasCustomDifficulty = nbt.getBoolean(Constants.Sponge.World.HAS_CUSTOM_DIFFICULTY);
         this.impl$trackedUniqueIdCount = 0;
+        this.impl$userCache.clear();
         if (nbt.hasKey(Constants.Sponge.World.WORLD_SERIALIZATION_BEHAVIOR)) {
             final short saveBehavior = nbt.getShort(Constants.Sponge.World.WORLD_SERIALIZATION_BEHAVIOR);
             if (saveBehavior == 1) {
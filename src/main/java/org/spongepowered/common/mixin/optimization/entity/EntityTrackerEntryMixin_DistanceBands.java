@@ -0,0 +1,154 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.entity;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityTrackerEntry;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.Packet;
+import net.minecraft.network.play.server.SPacketEntity;
+import net.minecraft.network.play.server.SPacketEntityTeleport;
+import net.minecraft.util.math.MathHelper;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.data.VanishableBridge;
+import org.spongepowered.common.config.category.EntityTrackerBandsCategory;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Mixin(EntityTrackerEntry.class)
+public abstract class EntityTrackerEntryMixin_DistanceBands {
+
+    @Shadow @Final private Entity trackedEntity;
+    @Shadow @Final public Set<EntityPlayerMP> trackingPlayers;
+    @Shadow public boolean playerEntitiesUpdated;
+
+    @Shadow public abstract void updatePlayerEntities(List<EntityPlayer> players);
+
+    private int distanceBands$lastChunkX = Integer.MIN_VALUE;
+    private int distanceBands$lastChunkZ = Integer.MIN_VALUE;
+    private boolean distanceBands$updatingPlayerList;
+    // Far players that skipped movement packets, and therefore need an absolute position
+    private final Set<EntityPlayerMP> distanceBands$stalePlayers = new HashSet<>();
+
+    /**
+     * Vanilla recomputes the players watching this entity every time it moved
+     * more than 4 blocks, which also makes the tracker recompute every entity
+     * for a moving player. Only do so once the entity entered another chunk.
+     */
+    @Redirect(method = "updatePlayerList",
+        at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/EntityTrackerEntry;updatePlayerEntities(Ljava/util/List;)V"))
+    private void distanceBands$updateWatchersOnChunkChange(final EntityTrackerEntry entry, final List<EntityPlayer> players) {
+        final int chunkX = MathHelper.floor(this.trackedEntity.posX) >> 4;
+        final int chunkZ = MathHelper.floor(this.trackedEntity.posZ) >> 4;
+        if (chunkX == this.distanceBands$lastChunkX && chunkZ == this.distanceBands$lastChunkZ) {
+            // Prevents the tracker from updating this player against every other entity
+            this.playerEntitiesUpdated = false;
+            return;
+        }
+        this.distanceBands$lastChunkX = chunkX;
+        this.distanceBands$lastChunkZ = chunkZ;
+        this.updatePlayerEntities(players);
+    }
+
+    @Inject(method = "updatePlayerList", at = @At("HEAD"))
+    private void distanceBands$onUpdatePlayerListHead(final List<EntityPlayer> players, final CallbackInfo ci) {
+        this.distanceBands$updatingPlayerList = true;
+    }
+
+    @Inject(method = "updatePlayerList", at = @At("RETURN"))
+    private void distanceBands$onUpdatePlayerListReturn(final List<EntityPlayer> players, final CallbackInfo ci) {
+        this.distanceBands$updatingPlayerList = false;
+        if (this.distanceBands$stalePlayers.isEmpty() || !this.distanceBands$isFarUpdateTick()) {
+            return;
+        }
+        this.distanceBands$stalePlayers.retainAll(this.trackingPlayers);
+        if (this.distanceBands$stalePlayers.isEmpty() || ((VanishableBridge) this.trackedEntity).bridge$isVanished()) {
+            return;
+        }
+        final Packet<?> teleport = new SPacketEntityTeleport(this.trackedEntity);
+        for (final EntityPlayerMP player : this.distanceBands$stalePlayers) {
+            player.connection.sendPacket(teleport);
+        }
+        this.distanceBands$stalePlayers.clear();
+    }
+
+    /**
+     * Sends the movement and rotation packets created while updating this entry
+     * to near players right away, and to far players only on their interval.
+     *
+     * <p>Movement packets can't be skipped without the client losing track of
+     * the entity, so far players that skipped any, relative or absolute, are
+     * sent the absolute position of the entity once their interval is
+     * reached.</p>
+     */
+    @Inject(method = "sendPacketToTrackedPlayers", at = @At("HEAD"), cancellable = true)
+    private void distanceBands$onSendPacketToTrackedPlayers(final Packet<?> packet, final CallbackInfo ci) {
+        if (!this.distanceBands$updatingPlayerList || ((VanishableBridge) this.trackedEntity).bridge$isVanished()) {
+            return;
+        }
+        final boolean relative = packet instanceof SPacketEntity;
+        if (!relative && !(packet instanceof SPacketEntityTeleport)) {
+            return;
+        }
+        final EntityTrackerBandsCategory config = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations()
+            .getEntityTrackerBandsCategory();
+        final double farDistanceSq = (double) config.getFarDistance() * config.getFarDistance();
+        final boolean farUpdateTick = this.distanceBands$isFarUpdateTick();
+        for (final EntityPlayerMP player : this.trackingPlayers) {
+            final double dx = player.posX - this.trackedEntity.posX;
+            final double dz = player.posZ - this.trackedEntity.posZ;
+            final boolean far = dx * dx + dz * dz > farDistanceSq;
+            if (far && !farUpdateTick) {
+                this.distanceBands$stalePlayers.add(player);
+                continue;
+            }
+            // A teleport packet already carries the absolute position
+            if (this.distanceBands$stalePlayers.remove(player) && relative) {
+                player.connection.sendPacket(new SPacketEntityTeleport(this.trackedEntity));
+                continue;
+            }
+            player.connection.sendPacket(packet);
+        }
+        ci.cancel();
+    }
+
+    private boolean distanceBands$isFarUpdateTick() {
+        final int interval = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations()
+            .getEntityTrackerBandsCategory().getFarUpdateInterval();
+        // Spread the far updates of all entities over the interval
+        return (this.trackedEntity.world.getTotalWorldTime() + this.trackedEntity.getEntityId()) % interval == 0;
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.entity.player;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.inventory.Container;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.inventory.ContainerBridge;
+
+@Mixin(EntityPlayerMP.class)
+public abstract class EntityPlayerMPMixin_ContainerSlotTracking {
+
+    private int slotTracking$ticksSinceFullScan;
+
+    @Redirect(method = "onUpdate", at = @At(value = "INVOKE", target = "Lnet/minecraft/inventory/Container;detectAndSendChanges()V"))
+    private void slotTracking$detectDirtySlotChanges(final Container container) {
+        final int interval = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations()
+                .getContainerSlotTrackingCategory().getFullScanInterval();
+        if (++this.slotTracking$ticksSinceFullScan >= interval || !(container instanceof ContainerBridge)) {
+            this.slotTracking$ticksSinceFullScan = 0;
+            container.detectAndSendChanges();
+            return;
+        }
+        // Still go through the container so overrides (furnace progress, enchanting seeds...) keep running
+        ((ContainerBridge) container).bridge$setOnlyDirtySlots(true);
+        try {
+            container.detectAndSendChanges();
+        } finally {
+            ((ContainerBridge) container).bridge$setOnlyDirtySlots(false);
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.network;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelOutboundBuffer;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GenericFutureListener;
+import net.minecraft.network.EnumConnectionState;
+import net.minecraft.network.EnumPacketDirection;
+import net.minecraft.network.NetworkManager;
+import net.minecraft.network.Packet;
+import net.minecraft.network.play.server.SPacketConfirmTransaction;
+import net.minecraft.network.play.server.SPacketDisconnect;
+import net.minecraft.network.play.server.SPacketKeepAlive;
+import net.minecraft.network.play.server.SPacketPlayerPosLook;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.network.NetworkManagerBridge_PacketBatching;
+import org.spongepowered.common.network.PendingPacketFlushes;
+
+import javax.annotation.Nullable;
+
+@Mixin(NetworkManager.class)
+public abstract class NetworkManagerMixin_PacketBatching implements NetworkManagerBridge_PacketBatching {
+
+    @Shadow @Final public static AttributeKey<EnumConnectionState> PROTOCOL_ATTRIBUTE_KEY;
+
+    @Shadow @Final private EnumPacketDirection direction;
+    @Shadow private Channel channel;
+
+    // Only accessed on the event loop of the channel
+    private int batching$queuedPackets;
+    private volatile boolean batching$flushScheduled;
+    private volatile long batching$flushes;
+    private volatile long batching$flushedPackets;
+    private volatile long batching$flushedBytes;
+
+    @Inject(method = "dispatchPacket", at = @At("HEAD"), cancellable = true)
+    private void batching$writeWithoutFlush(final Packet<?> packet,
+            @Nullable final GenericFutureListener<? extends Future<? super Void>>[] listeners, final CallbackInfo ci) {
+        if (packet instanceof SPacketKeepAlive || packet instanceof SPacketPlayerPosLook || packet instanceof SPacketDisconnect
+                || packet instanceof SPacketConfirmTransaction) {
+            // Flushed right away, together with everything queued before them
+            return;
+        }
+        // Only batch on the server side of a connection, flushes are driven by the server tick
+        if (this.direction != EnumPacketDirection.SERVERBOUND) {
+            return;
+        }
+        // Leave connection state changes to vanilla
+        if (this.channel.attr(PROTOCOL_ATTRIBUTE_KEY).get() != EnumConnectionState.PLAY
+                || EnumConnectionState.getFromPacket(packet) != EnumConnectionState.PLAY) {
+            return;
+        }
+        ci.cancel();
+        if (this.channel.eventLoop().inEventLoop()) {
+            this.batching$write(packet, listeners);
+        } else {
+            this.channel.eventLoop().execute(() -> this.batching$write(packet, listeners));
+        }
+    }
+
+    private void batching$write(final Packet<?> packet, @Nullable final GenericFutureListener<? extends Future<? super Void>>[] listeners) {
+        final ChannelFuture future = this.channel.write(packet);
+        if (listeners != null) {
+            future.addListeners(listeners);
+        }
+        future.addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+
+        if (++this.batching$queuedPackets >= SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations()
+                .getPacketBatchingCategory().getMaxQueuedPackets()) {
+            this.batching$flushNow();
+        } else if (!this.batching$flushScheduled) {
+            this.batching$flushScheduled = true;
+            PendingPacketFlushes.add(this);
+        }
+    }
+
+    private void batching$flushNow() {
+        if (this.batching$queuedPackets > 0) {
+            final ChannelOutboundBuffer buffer = this.channel.unsafe().outboundBuffer();
+            this.batching$flushes++;
+            this.batching$flushedPackets += this.batching$queuedPackets;
+            this.batching$flushedBytes += buffer == null ? 0 : buffer.totalPendingWriteBytes();
+            this.batching$queuedPackets = 0;
+        }
+        this.channel.flush();
+    }
+
+    @Override
+    public void batchingBridge$flush() {
+        this.batching$flushScheduled = false;
+        if (this.channel.eventLoop().inEventLoop()) {
+            this.batching$flushNow();
+        } else {
+            this.channel.eventLoop().execute(this::batching$flushNow);
+        }
+    }
+
+    @Override
+    public long batchingBridge$getFlushCount() {
+        return this.batching$flushes;
+    }
+
+    @Override
+    public double batchingBridge$getPacketsPerFlush() {
+        final long flushes = this.batching$flushes;
+        return flushes == 0 ? 0 : (double) this.batching$flushedPackets / flushes;
+    }
+
+    @Override
+    public double batchingBridge$getBytesPerFlush() {
+        final long flushes = this.batching$flushes;
+        return flushes == 0 ? 0 : (double) this.batching$flushedBytes / flushes;
+    }
+
+}
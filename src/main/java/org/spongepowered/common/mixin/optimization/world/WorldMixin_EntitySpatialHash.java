@@ -0,0 +1,136 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.world;
+
+import com.google.common.base.Predicate;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.world.World;
+import org.spongepowered.api.event.entity.CollideEntityEvent;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.bridge.world.WorldBridge;
+import org.spongepowered.common.bridge.world.WorldBridge_EntitySpatialHash;
+import org.spongepowered.common.event.ShouldFire;
+import org.spongepowered.common.event.SpongeCommonEventFactory;
+import org.spongepowered.common.event.tracking.IPhaseState;
+import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.CollisionsCapability;
+import org.spongepowered.common.world.collision.EntitySpatialHash;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+@Mixin(value = World.class, priority = 1500)
+public abstract class WorldMixin_EntitySpatialHash implements WorldBridge_EntitySpatialHash {
+
+    @Nullable private EntitySpatialHash spatialHash$hash;
+
+    @Nullable
+    @Override
+    public EntitySpatialHash spatialHashBridge$getEntitySpatialHash() {
+        return this.spatialHash$hash;
+    }
+
+    @Inject(method = "onEntityAdded", at = @At("TAIL"))
+    private void spatialHash$addEntity(final Entity entityIn, final CallbackInfo ci) {
+        if (((World) (Object) this).isRemote || ((WorldBridge) this).bridge$isFake()) {
+            return;
+        }
+        if (this.spatialHash$hash == null) {
+            this.spatialHash$hash = new EntitySpatialHash(
+                SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getEntitySpatialHashCategory().getCellSize());
+        }
+        this.spatialHash$hash.add(entityIn);
+    }
+
+    @Inject(method = "onEntityRemoved", at = @At("TAIL"))
+    private void spatialHash$removeEntity(final Entity entityIn, final CallbackInfo ci) {
+        if (this.spatialHash$hash != null) {
+            this.spatialHash$hash.remove(entityIn);
+        }
+    }
+
+    /**
+     * Answers the query from the spatial hash. As chunk sections are no longer
+     * walked, the collision rules and the collide event that are otherwise
+     * applied per chunk are applied here, once over the whole result.
+     */
+    @SuppressWarnings("Guava")
+    @Inject(method = "getEntitiesInAABBexcluding", at = @At("HEAD"), cancellable = true)
+    private void spatialHash$getEntitiesFromHash(@Nullable final Entity entityIn, final AxisAlignedBB boundingBox,
+        @Nullable final Predicate<? super Entity> predicate, final CallbackInfoReturnable<List<Entity>> cir) {
+        final EntitySpatialHash hash = this.spatialHash$hash;
+        if (hash == null || !SpongeImplHooks.isMainThread() || !hash.canQuery(boundingBox)) {
+            return;
+        }
+        final IPhaseState<?> state = PhaseTracker.getInstance().getCurrentState();
+        final boolean isCollision = state.isCollision();
+        final List<Entity> list = new ArrayList<>();
+        hash.getEntitiesWithinAABBExcludingEntity(entityIn, boundingBox, predicate,
+            isCollision ? this.spatialHash$getCollisionLimit(entityIn) : Integer.MAX_VALUE, list);
+
+        if (isCollision && !list.isEmpty() && ShouldFire.COLLIDE_ENTITY_EVENT) {
+            final CollideEntityEvent event = SpongeCommonEventFactory.callCollideEntityEvent((World) (Object) this, entityIn, list);
+            if ((event == null || event.isCancelled()) && (event != null || state.isTicking())) {
+                list.clear();
+            }
+        }
+        cir.setReturnValue(list);
+    }
+
+    private int spatialHash$getCollisionLimit(@Nullable final Entity entityIn) {
+        // Mirrors ChunkMixin_Collisions, players and entities with parts are never limited
+        if (entityIn == null || entityIn instanceof EntityPlayer || entityIn.getParts() != null
+            || !SpongeImpl.getGlobalConfigAdapter().getConfig().getModules().usePluginEntityCollisions()) {
+            return Integer.MAX_VALUE;
+        }
+        final PhaseContext<?> phaseContext = PhaseTracker.getInstance().getCurrentContext();
+        final Object source = phaseContext.getSource();
+        if (!(source instanceof CollisionsCapability)) {
+            return Integer.MAX_VALUE;
+        }
+        final CollisionsCapability capability = (CollisionsCapability) source;
+        if (capability.collision$requiresCollisionsCacheRefresh()) {
+            capability.collision$initializeCollisionState((World) (Object) this);
+            capability.collision$requiresCollisionsCacheRefresh(false);
+        }
+        final int maxCollisions = capability.collision$getMaxCollisions();
+        if (maxCollisions < 0) {
+            return Integer.MAX_VALUE;
+        }
+        return Math.max(maxCollisions, ((World) (Object) this).getGameRules().getInt("maxEntityCramming"));
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.world;
+
+import net.minecraft.world.NextTickListEntry;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.gen.structure.StructureBoundingBox;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.world.tick.ScheduledTickQueue;
+
+import java.util.Iterator;
+import java.util.TreeSet;
+
+@Mixin(WorldServer.class)
+public abstract class WorldServerMixin_ScheduledTickQueue {
+
+    /**
+     * Replaces the sorted set of pending block updates with a queue bucketed
+     * by scheduled tick and indexed by chunk.
+     */
+    @Redirect(method = "<init>", at = @At(value = "NEW", args = "class=java/util/TreeSet"))
+    private TreeSet<NextTickListEntry> scheduledTicks$createQueue() {
+        return new ScheduledTickQueue();
+    }
+
+    /**
+     * Only visit the pending updates of the chunks within the box, rather than
+     * every pending update of the world, when a chunk saves or unloads.
+     */
+    @Redirect(method = "getPendingBlockUpdates(Lnet/minecraft/world/gen/structure/StructureBoundingBox;Z)Ljava/util/List;",
+        at = @At(value = "INVOKE", target = "Ljava/util/TreeSet;iterator()Ljava/util/Iterator;", remap = false))
+    private Iterator<NextTickListEntry> scheduledTicks$iterateChunksInBox(final TreeSet<NextTickListEntry> pending,
+        final StructureBoundingBox structureBB, final boolean remove) {
+        if (pending instanceof ScheduledTickQueue) {
+            return ((ScheduledTickQueue) pending).iterator(structureBB);
+        }
+        return pending.iterator();
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.optimization.world.chunk;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.bridge.world.chunk.ExtendedBlockStorageBridge_RandomTick;
+
+import javax.annotation.Nullable;
+
+@Mixin(ExtendedBlockStorage.class)
+public abstract class ExtendedBlockStorageMixin_RandomTick implements ExtendedBlockStorageBridge_RandomTick {
+
+    @Shadow private int tickRefCount;
+    @Shadow public abstract IBlockState get(int x, int y, int z);
+
+    // Only allocated while at least one block in this storage ticks randomly
+    @Nullable private long[] randomTick$bits;
+
+    @Nullable
+    @Override
+    public long[] randomTickBridge$getRandomTickingBits() {
+        return this.randomTick$bits;
+    }
+
+    @Inject(method = "set", at = @At("RETURN"))
+    private void randomTick$updateBit(final int x, final int y, final int z, final IBlockState state, final CallbackInfo ci) {
+        if (this.tickRefCount <= 0) {
+            this.randomTick$bits = null;
+            return;
+        }
+        final int index = y << 8 | z << 4 | x;
+        if (state.getBlock().getTickRandomly()) {
+            if (this.randomTick$bits == null) {
+                this.randomTick$bits = new long[64];
+            }
+            this.randomTick$bits[index >>> 6] |= 1L << index;
+        } else if (this.randomTick$bits != null) {
+            this.randomTick$bits[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    @Inject(method = "recalculateRefCounts", at = @At("RETURN"))
+    private void randomTick$recalculateBits(final CallbackInfo ci) {
+        if (this.tickRefCount <= 0) {
+            this.randomTick$bits = null;
+            return;
+        }
+        final long[] bits = new long[64];
+        for (int x = 0; x < 16; x++) {
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    if (this.get(x, y, z).getBlock().getTickRandomly()) {
+                        final int index = y << 8 | z << 4 | x;
+                        bits[index >>> 6] |= 1L << index;
+                    }
+                }
+            }
+        }
+        this.randomTick$bits = bits;
+    }
+
+}
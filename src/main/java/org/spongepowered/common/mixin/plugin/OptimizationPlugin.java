@@ -143,6 +143,26 @@ public void postApply(String targetClassName, ClassNode targetClass, String mixi
                     OptimizationCategory::isUseActiveChunkForCollisions)
             .put("org.spongepowered.common.mixin.optimization.pathfinding.PathNavigateMixin_ChunkLoadOptimizations",
                     OptimizationCategory::disablePathFindingChunkLoads)
+            .put("org.spongepowered.common.mixin.optimization.entity.EntityMixin_EntitySpatialHash",
+                    OptimizationCategory::useEntitySpatialHash)
+            .put("org.spongepowered.common.mixin.optimization.world.WorldMixin_EntitySpatialHash",
+                    OptimizationCategory::useEntitySpatialHash)
+            .put("org.spongepowered.common.mixin.optimization.world.WorldServerMixin_ScheduledTickQueue",
+                    OptimizationCategory::useScheduledTickQueue)
+            .put("org.spongepowered.common.mixin.optimization.world.chunk.ExtendedBlockStorageMixin_RandomTick",
+                    OptimizationCategory::useRandomTickBitmap)
+            .put("org.spongepowered.common.mixin.optimization.entity.player.EntityPlayerMPMixin_ContainerSlotTracking",
+                    OptimizationCategory::useContainerSlotTracking)
+            .put("org.spongepowered.common.mixin.optimization.inventory.InventoryBasicMixin_ContainerSlotTracking",
+                    OptimizationCategory::useContainerSlotTracking)
+            .put("org.spongepowered.common.mixin.optimization.tileentity.TileEntityMixin_ContainerSlotTracking",
+                    OptimizationCategory::useContainerSlotTracking)
+            .put("org.spongepowered.common.mixin.optimization.network.NetworkManagerMixin_PacketBatching",
+                    OptimizationCategory::usePacketBatching)
+            .put("org.spongepowered.common.mixin.optimization.server.MinecraftServerMixin_PacketBatching",
+                    OptimizationCategory::usePacketBatching)
+            .put("org.spongepowered.common.mixin.optimization.entity.EntityTrackerEntryMixin_DistanceBands",
+                    OptimizationCategory::useEntityTrackerBands)
             .build();
 
 }
@@ -27,8 +27,10 @@
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.WeakHashMap;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockRedstoneWire;
 import net.minecraft.block.state.IBlockState;
@@ -297,20 +299,88 @@ public static enum Type {
         
         IBlockState currentState;       // Keep track of redstone wire value
         UpdateNode[] neighbor_nodes;    // References to neighbors (directed graph edges)
-        BlockPos self;                  // UpdateNode's own position
+        UpdateNode[] adjacent;          // Persistent references to neighbors, in computeAllNeighbors order
+        final BlockPos self;            // UpdateNode's own position
+        int walk;                       // The walk the state below belongs to
         BlockPos parent;                // Which block pos spawned/updated this node
         Type type = Type.UNKNOWN;       // unknown, redstone wire, other type of block
         int layer;                      // Highest layer this node is scheduled in
         boolean visited;                // To keep track of information flow direction, visited restone wire is marked
         int xbias, zbias;               // Remembers directionality of ancestor nodes; helps eliminate directional ambiguities.
+
+        UpdateNode(final BlockPos self) {
+            this.self = self;
+        }
     }
     
     
     /*
-     * Keep track of all block positions discovered during search and their current states.
-     * We want to remember one entry for each position.
+     * Keep track of all block positions discovered during searches, keyed by their packed
+     * position.  Unlike the per-walk state of each node, the graph itself is kept across
+     * walks:  the neighbors of a position never change, so once a node has been expanded
+     * its 24 neighbor nodes are reached through its adjacency array instead of allocating
+     * their positions and looking each of them up again.  Everything that depends on the
+     * world (block state, whether the block is redstone wire) is re-read the first time a
+     * node is reached in a walk, so the graph never has to be invalidated when blocks change.
+     */
+    private final Map<World, Long2ObjectMap<UpdateNode>> graphs = new WeakHashMap<>();
+
+    /*
+     * The graph of the world currently being walked, only held during a walk.
+     */
+    private World graphWorld;
+    private Long2ObjectMap<UpdateNode> graph;
+
+    /*
+     * Bounds the amount of positions remembered per world.  Large or many machines
+     * beyond this start over with an empty graph.
+     */
+    private static final int MAX_GRAPH_SIZE = 1 << 16;
+
+    // Identifies the current walk, nodes with a different walk id hold stale state
+    private int walkId = 0;
+
+    // Whether a walk is on-going, any update received meanwhile is reentrant
+    private boolean walking = false;
+
+    private Long2ObjectMap<UpdateNode> getGraph(final World worldIn) {
+        if (worldIn != this.graphWorld) {
+            this.graph = this.graphs.computeIfAbsent(worldIn, w -> new Long2ObjectOpenHashMap<>());
+            this.graphWorld = worldIn;
+        }
+        return this.graph;
+    }
+
+    private UpdateNode getNode(final World worldIn, final BlockPos pos) {
+        final Long2ObjectMap<UpdateNode> graph = this.getGraph(worldIn);
+        final long key = pos.toLong();
+        UpdateNode node = graph.get(key);
+        if (node == null) {
+            node = new UpdateNode(pos.toImmutable());
+            graph.put(key, node);
+        }
+        return node;
+    }
+
+    /*
+     * Resets the per-walk state of a node the first time it is reached in the current walk.
+     * Returns true if the node had not been reached yet, meaning it still has to be identified.
      */
-    private final Map<BlockPos, UpdateNode> nodeCache = new HashMap<>();
+    private boolean enterWalk(final UpdateNode node) {
+        if (node.walk == this.walkId) {
+            return false;
+        }
+        node.walk = this.walkId;
+        node.currentState = null;
+        node.neighbor_nodes = null;
+        node.parent = null;
+        node.type = UpdateNode.Type.UNKNOWN;
+        node.layer = 0;
+        node.visited = false;
+        node.xbias = 0;
+        node.zbias = 0;
+        return true;
+    }
 
 
     /*
@@ -487,8 +557,14 @@ private void updateNode(final World worldIn, final UpdateNode upd1, final int la
     private void findNeighbors(final World worldIn, final UpdateNode upd1) {
         final BlockPos pos = upd1.self;
 
-        // Get the list of neighbor coordinates
-        final BlockPos[] neighbors = computeAllNeighbors(pos);
+        if (upd1.adjacent == null) {
+            // Link the neighbor nodes once, the neighboring positions never change
+            final BlockPos[] neighbors = computeAllNeighbors(pos);
+            upd1.adjacent = new UpdateNode[24];
+            for (int i=0; i<24; i++) {
+                upd1.adjacent[i] = getNode(worldIn, neighbors[i]);
+            }
+        }
 
         // Temporary array of neighbors in cardinal ordering
         final UpdateNode[] neighbor_nodes = new UpdateNode[24];
@@ -497,16 +573,11 @@ private void findNeighbors(final World worldIn, final UpdateNode upd1) {
         upd1.neighbor_nodes = new UpdateNode[24];
 
         for (int i=0; i<24; i++) {
-            // Look up each neighbor in the node cache
-            final BlockPos pos2 = neighbors[i];
-            UpdateNode upd2 = this.nodeCache.get(pos2);
-            if (upd2 == null) {
-                // If this is a previously unreached position, create
-                // a new update node, add it to the cache, and identify what it is.
-                upd2 = new UpdateNode();
-                upd2.self = pos2;
+            final UpdateNode upd2 = upd1.adjacent[i];
+            if (enterWalk(upd2)) {
+                // If this position has not been reached in this walk yet,
+                // identify what it is.
                 upd2.parent = pos;
-                this.nodeCache.put(pos2, upd2);
                 identifyNode(worldIn, upd2);
             }
 
@@ -728,26 +799,20 @@ private IBlockState scheduleReentrantNeighborChanged(final World worldIn, final
         if (source != null) {
             // If the cause of the redstone wire update is known, we can use that to help determine
             // direction of information flow.
-            UpdateNode src = this.nodeCache.get(source);
-            if (src == null) {
-                src = new UpdateNode();
-                src.self = source;
-                src.parent = source;
+            final UpdateNode src = getNode(worldIn, source);
+            if (enterWalk(src)) {
+                src.parent = src.self;
                 src.visited = true;
                 identifyNode(worldIn, src);
-                this.nodeCache.put(source, src);
             }
         }
 
         // Find or generate a node for the redstone block position receiving the update
-        UpdateNode upd = this.nodeCache.get(pos);
-        if (upd == null) {
-            upd = new UpdateNode();
-            upd.self = pos;
-            upd.parent = pos;
+        final UpdateNode upd = getNode(worldIn, pos);
+        if (enterWalk(upd)) {
+            upd.parent = upd.self;
             upd.visited = true;
             identifyNode(worldIn, upd);
-            this.nodeCache.put(pos, upd);
         }
         upd.currentState = newState;
 
@@ -797,7 +862,7 @@ public IBlockState updateSurroundingRedstone(final World worldIn, final BlockPos
         }
 
         // Check to see if this update was received during an on-going breadth first search
-        if (this.currentWalkLayer > 0 || this.nodeCache.size() > 0) {
+        if (this.currentWalkLayer > 0 || this.walking) {
             // As breadthFirstWalk progresses, it sends block updates to neighbors.  Some of those
             // neighbors may affect the world so as to cause yet another redstone wire block to receive
             // an update.  If that happens, we need to integrate those redstone wire updates into the
@@ -805,39 +870,47 @@ public IBlockState updateSurroundingRedstone(final World worldIn, final BlockPos
             return scheduleReentrantNeighborChanged(worldIn, pos, newState, source);
         }
         // If there are no on-going walks through redstone wire, then start a new walk.
+        this.walking = true;
+        if (++this.walkId == 0) {
+            // Never let a stale node look like it belongs to the current walk
+            this.graphs.clear();
+            this.graphWorld = null;
+            this.walkId = 1;
+        }
 
         // If the source of the block update to the redstone wire at 'pos' is known, we can use
         // that to help determine the direction of information flow.
         if (source != null) {
-            final UpdateNode src = new UpdateNode();
-            src.self = source;
-            src.parent = source;
+            final UpdateNode src = getNode(worldIn, source);
+            enterWalk(src);
+            src.parent = src.self;
             src.visited = true;
-            this.nodeCache.put(source, src);
             identifyNode(worldIn, src);
         }
 
-        // Create a node representing the block at 'pos', and then propagate updates
+        // Get the node representing the block at 'pos', and then propagate updates
         // to its neighbors.  As stated above, the call to wire.calculateCurrentChanges
         // already performs the update to the block at 'pos', so it is not added to the schedule.
-        final UpdateNode upd = new UpdateNode();
-        upd.self = pos;
-        upd.parent = source!=null ? source : pos;
+        final UpdateNode upd = getNode(worldIn, pos);
+        enterWalk(upd);
+        upd.parent = source!=null ? source : upd.self;
         upd.currentState = newState;
         upd.type = UpdateNode.Type.REDSTONE;
         upd.visited = true;
-        this.nodeCache.put(pos, upd);
         propagateChanges(worldIn, upd, 0);
     
         // Perform the walk over all directly reachable redstone wire blocks, propagating wire value 
         // updates in a breadth first order out from the initial update received for the block at 'pos'.
         breadthFirstWalk(worldIn);
 
-        // With the whole search completed, clear the list of all known blocks.
-        // We do not want to keep around state information that may be changed by other code.
-        // In theory, we could cache the neighbor block positions, but that is a separate
-        // optimization.
-        this.nodeCache.clear();
+        // With the whole search completed, the per-walk state of the known blocks is stale
+        // and will be reset as they are reached again.  Only the graph itself is kept.
+        if (this.graph.size() > MAX_GRAPH_SIZE) {
+            this.graph.clear();
+        }
+        this.graphWorld = null;
+        this.graph = null;
+        this.walking = false;
 
         return newState;
     }
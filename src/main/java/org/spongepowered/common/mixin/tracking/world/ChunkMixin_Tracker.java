@@ -26,7 +26,6 @@
 
 import net.minecraft.block.Block;
 import net.minecraft.block.ITileEntityProvider;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.BlockPos;
@@ -59,6 +58,7 @@
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.SpongeUsernameCache;
+import org.spongepowered.common.world.storage.WorldUserCache;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -262,13 +262,20 @@ public abstract class ChunkMixin_Tracker implements ChunkBridge {
         final Optional<UUID> uuid = this.tracker$getValidatedUUID(key, ownerIndex);
         if (uuid.isPresent()) {
             final UUID userUniqueId = uuid.get();
-            // get player if online
-            final EntityPlayer player = this.world.getPlayerEntityByUUID(userUniqueId);
+            // get player if online, the player list is keyed by uuid so we avoid scanning the world's players
+            final EntityPlayerMP player = SpongeImpl.getServer().getPlayerList().getPlayerByUUID(userUniqueId);
             if (player != null) {
                 return Optional.of((User) player);
             }
             // player is not online, get or create user from storage
-            return this.tracker$getUserFromId(userUniqueId);
+            final WorldUserCache userCache = ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getUserCache();
+            final User cached = userCache.get(ownerIndex);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+            final Optional<User> user = this.tracker$getUserFromId(userUniqueId);
+            user.ifPresent(u -> userCache.put(ownerIndex, u));
+            return user;
         }
         return Optional.empty();
     }
@@ -0,0 +1,54 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.network;
+
+import org.spongepowered.common.bridge.network.NetworkManagerBridge_PacketBatching;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The connections which have batched packets written but not flushed yet,
+ * flushed all at once at the end of every server tick.
+ */
+public final class PendingPacketFlushes {
+
+    private static final Queue<NetworkManagerBridge_PacketBatching> pending = new ConcurrentLinkedQueue<>();
+
+    private PendingPacketFlushes() {
+    }
+
+    public static void add(final NetworkManagerBridge_PacketBatching manager) {
+        PendingPacketFlushes.pending.add(manager);
+    }
+
+    public static void flushAll() {
+        NetworkManagerBridge_PacketBatching manager;
+        while ((manager = PendingPacketFlushes.pending.poll()) != null) {
+            manager.batchingBridge$flush();
+        }
+    }
+
+}
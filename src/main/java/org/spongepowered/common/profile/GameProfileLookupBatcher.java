@@ -0,0 +1,288 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.profile;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.spongepowered.api.profile.GameProfile;
+import org.spongepowered.api.profile.GameProfileCache;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * Coalesces lookups of {@link GameProfile}s by unique id into batches that
+ * are sent to the profile repository at a limited rate.
+ *
+ * <p>Lookups which can be answered by the {@link GameProfileCache} are never
+ * queued, and a unique id that is already queued or being looked up shares
+ * the pending result instead of being looked up again.</p>
+ *
+ * <p>Each lookup of a batch is still a separate request to the profile
+ * repository, so the request rate is the batch size per interval.</p>
+ */
+public final class GameProfileLookupBatcher {
+
+    private final Supplier<GameProfileCache> cache;
+    private final ScheduledExecutorService executor;
+    private final long intervalNanos;
+    private final int batchSize;
+
+    private final Object lock = new Object();
+    // All lookups that didn't complete yet, both queued and in flight
+    private final Map<UUID, PendingLookup> pending = new HashMap<>();
+    private final Deque<PendingLookup> queue = new ArrayDeque<>();
+    private boolean flushScheduled;
+    private long nextFlush = System.nanoTime();
+
+    private long completedLookups;
+    private long totalLatency;
+    private long maxLatency;
+
+    /**
+     * Creates a new batcher.
+     *
+     * @param cache The cache to consult and to perform the lookups with
+     * @param executor The executor the batches are processed on
+     * @param interval The minimum time between two batches that needed to
+     *     query the profile repository
+     * @param unit The unit of the interval
+     * @param batchSize The maximum amount of lookups per batch
+     */
+    public GameProfileLookupBatcher(Supplier<GameProfileCache> cache, ScheduledExecutorService executor, long interval, TimeUnit unit,
+            int batchSize) {
+        checkArgument(interval >= 0, "interval cannot be negative");
+        checkArgument(batchSize > 0, "batch size must be positive");
+        this.cache = checkNotNull(cache, "cache");
+        this.executor = checkNotNull(executor, "executor");
+        this.intervalNanos = checkNotNull(unit, "unit").toNanos(interval);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Looks up the profile with the given unique id, the result is empty if
+     * the profile repository doesn't know the unique id.
+     *
+     * @param uniqueId The unique id
+     * @return The future of the profile
+     */
+    public CompletableFuture<Optional<GameProfile>> lookup(UUID uniqueId) {
+        checkNotNull(uniqueId, "unique id");
+        synchronized (this.lock) {
+            final PendingLookup lookup = this.pending.get(uniqueId);
+            if (lookup != null) {
+                return lookup.future;
+            }
+        }
+
+        final Optional<GameProfile> cached = this.cache.get().getById(uniqueId);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        synchronized (this.lock) {
+            PendingLookup lookup = this.pending.get(uniqueId);
+            if (lookup == null) {
+                lookup = new PendingLookup(uniqueId, System.nanoTime());
+                this.pending.put(uniqueId, lookup);
+                this.queue.add(lookup);
+                this.scheduleFlush();
+            }
+            return lookup.future;
+        }
+    }
+
+    /**
+     * Processes the next batch of queued lookups on the current thread.
+     *
+     * @return The amount of lookups that were sent to the profile repository
+     */
+    public int flush() {
+        final List<PendingLookup> batch;
+        synchronized (this.lock) {
+            batch = new ArrayList<>(Math.min(this.batchSize, this.queue.size()));
+            while (batch.size() < this.batchSize && !this.queue.isEmpty()) {
+                batch.add(this.queue.poll());
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        final GameProfileCache cache = this.cache.get();
+        final Map<UUID, Optional<GameProfile>> results = new HashMap<>();
+        final List<UUID> remaining = new ArrayList<>();
+        for (PendingLookup lookup : batch) {
+            // The profile may have been cached since it was queued, e.g. by the player joining
+            final Optional<GameProfile> cached = cache.getById(lookup.uniqueId);
+            if (cached.isPresent()) {
+                results.put(lookup.uniqueId, cached);
+            } else {
+                remaining.add(lookup.uniqueId);
+            }
+        }
+
+        @Nullable Throwable failure = null;
+        if (!remaining.isEmpty()) {
+            try {
+                results.putAll(cache.lookupByIds(remaining));
+            } catch (Throwable t) {
+                failure = t;
+            }
+        }
+
+        final long now = System.nanoTime();
+        synchronized (this.lock) {
+            for (PendingLookup lookup : batch) {
+                this.pending.remove(lookup.uniqueId);
+                final long latency = now - lookup.queued;
+                this.completedLookups++;
+                this.totalLatency += latency;
+                this.maxLatency = Math.max(this.maxLatency, latency);
+            }
+            if (!remaining.isEmpty()) {
+                this.nextFlush = now + this.intervalNanos;
+            }
+        }
+
+        for (PendingLookup lookup : batch) {
+            final Optional<GameProfile> result = results.get(lookup.uniqueId);
+            if (result != null) {
+                lookup.future.complete(result);
+            } else if (failure != null) {
+                lookup.future.completeExceptionally(failure);
+            } else {
+                lookup.future.complete(Optional.empty());
+            }
+        }
+        return remaining.size();
+    }
+
+    private void scheduleFlush() {
+        if (this.flushScheduled || this.queue.isEmpty()) {
+            return;
+        }
+        this.flushScheduled = true;
+        final long delay = Math.max(0, this.nextFlush - System.nanoTime());
+        this.executor.schedule(this::runScheduledFlush, delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void runScheduledFlush() {
+        synchronized (this.lock) {
+            this.flushScheduled = false;
+        }
+        try {
+            this.flush();
+        } finally {
+            synchronized (this.lock) {
+                this.scheduleFlush();
+            }
+        }
+    }
+
+    /**
+     * Gets the amount of lookups that are waiting for a batch.
+     *
+     * @return The queue length
+     */
+    public int getQueueLength() {
+        synchronized (this.lock) {
+            return this.queue.size();
+        }
+    }
+
+    /**
+     * Gets the amount of lookups that didn't complete yet, including the
+     * ones of the batch that is currently being processed.
+     *
+     * @return The amount of pending lookups
+     */
+    public int getPendingLookups() {
+        synchronized (this.lock) {
+            return this.pending.size();
+        }
+    }
+
+    /**
+     * Gets the amount of queued lookups that completed.
+     *
+     * @return The amount of completed lookups
+     */
+    public long getCompletedLookups() {
+        synchronized (this.lock) {
+            return this.completedLookups;
+        }
+    }
+
+    /**
+     * Gets the average time between queueing and completing a lookup.
+     *
+     * @param unit The unit of the result
+     * @return The average latency
+     */
+    public long getAverageLatency(TimeUnit unit) {
+        synchronized (this.lock) {
+            return this.completedLookups == 0 ? 0 : unit.convert(this.totalLatency / this.completedLookups, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Gets the longest time between queueing and completing a lookup.
+     *
+     * @param unit The unit of the result
+     * @return The maximum latency
+     */
+    public long getMaxLatency(TimeUnit unit) {
+        synchronized (this.lock) {
+            return unit.convert(this.maxLatency, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final class PendingLookup {
+
+        final UUID uniqueId;
+        final long queued;
+        final CompletableFuture<Optional<GameProfile>> future = new CompletableFuture<>();
+
+        PendingLookup(UUID uniqueId, long queued) {
+            this.uniqueId = uniqueId;
+            this.queued = queued;
+        }
+    }
+
+}
@@ -27,7 +27,6 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
-import org.spongepowered.api.Sponge;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.profile.GameProfileCache;
 import org.spongepowered.api.profile.GameProfileManager;
@@ -42,42 +41,33 @@
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
 public final class SpongeProfileManager implements GameProfileManager {
 
     private static final int LOOKUP_INTERVAL = SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld().getGameProfileQueryTaskInterval();
+    private static final int LOOKUP_BATCH_SIZE = SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld().getGameProfileQueryBatchSize();
     private final GameProfileCache defaultCache = (GameProfileCache) SpongeImpl.getServer().getPlayerProfileCache();
     private GameProfileCache cache = this.defaultCache;
-    private ExecutorService gameLookupExecutorService = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("Sponge - Async User Lookup Thread").build());
+    private final GameProfileLookupBatcher lookupBatcher = new GameProfileLookupBatcher(this::getCache,
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("Sponge - Async User Lookup Thread").build()),
+            LOOKUP_INTERVAL, TimeUnit.SECONDS, LOOKUP_BATCH_SIZE);
 
     public SpongeProfileManager() {
     }
 
     public void lookupUserAsync(UUID uuid) {
-        this.gameLookupExecutorService.execute(() -> {
-            if (SpongeUsernameCache.getLastKnownUsername(uuid) != null) {
-                return;
-            }
-
-            try {
-                Sponge.getServer().getGameProfileManager().get(checkNotNull(uuid, "uniqueId")).get();
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            } catch (ExecutionException e) {
-                e.printStackTrace();
-            }
-
-            try {
-                Thread.sleep(LOOKUP_INTERVAL * 1000);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        });
+        if (SpongeUsernameCache.getLastKnownUsername(checkNotNull(uuid, "uniqueId")) != null) {
+            return;
+        }
+        this.lookupBatcher.lookup(uuid);
+    }
+
+    public GameProfileLookupBatcher getLookupBatcher() {
+        return this.lookupBatcher;
     }
 
     @Override
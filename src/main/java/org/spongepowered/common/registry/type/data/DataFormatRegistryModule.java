@@ -32,6 +32,7 @@
 import org.spongepowered.api.data.persistence.DataFormats;
 import org.spongepowered.api.registry.AdditionalCatalogRegistryModule;
 import org.spongepowered.api.registry.util.RegisterCatalog;
+import org.spongepowered.common.data.persistence.BinaryDataFormat;
 import org.spongepowered.common.data.persistence.HoconDataFormat;
 import org.spongepowered.common.data.persistence.JsonDataFormat;
 import org.spongepowered.common.data.persistence.NbtDataFormat;
@@ -70,5 +71,6 @@ public void registerDefaults() {
         this.dataFormatMappings.put("nbt", new NbtDataFormat("nbt"));
         this.dataFormatMappings.put("json", new JsonDataFormat());
         this.dataFormatMappings.put("hocon", new HoconDataFormat("hocon"));
+        this.dataFormatMappings.put("binary", new BinaryDataFormat("binary"));
     }
 }
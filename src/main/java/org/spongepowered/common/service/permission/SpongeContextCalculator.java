@@ -24,11 +24,9 @@
  */
 package org.spongepowered.common.service.permission;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Maps;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.source.RemoteSource;
 import org.spongepowered.api.network.RemoteConnection;
@@ -38,13 +36,15 @@
 import org.spongepowered.api.world.Locatable;
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.util.IpSetTrie;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
+
+import javax.annotation.Nullable;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -54,11 +54,11 @@
 @SuppressWarnings("deprecation")
 public class SpongeContextCalculator implements ContextCalculator<Subject> {
 
-    private final LoadingCache<RemoteSource, Set<Context>> remoteIpCache = buildAddressCache(Context.REMOTE_IP_KEY, rs -> getAddress(rs, RemoteConnection::getAddress));
-    private final LoadingCache<RemoteSource, Set<Context>> localIpCache = buildAddressCache(Context.LOCAL_IP_KEY, rs -> getAddress(rs, RemoteConnection::getVirtualHost));
+    // Keyed by connection rather than by player, as players are recreated when they respawn
+    private final Cache<RemoteConnection, ConnectionContexts> connectionCache = CacheBuilder.newBuilder().weakKeys().build();
 
-    private static InetAddress getAddress(RemoteSource input, Function<RemoteConnection, InetSocketAddress> func) {
-        InetSocketAddress socket = func.apply(input.getConnection());
+    @Nullable
+    private static InetAddress getAddress(InetSocketAddress socket) {
         if (!socket.isUnresolved()) {
             return socket.getAddress();
         }
@@ -69,24 +69,34 @@ private static InetAddress getAddress(RemoteSource input, Function<RemoteConnect
         }
     }
 
-    private LoadingCache<RemoteSource, Set<Context>> buildAddressCache(final String contextKey, final Function<RemoteSource, InetAddress> function) {
-        return CacheBuilder.newBuilder()
-            .weakKeys()
-            .build(new CacheLoader<RemoteSource, Set<Context>>() {
-                @Override
-                public Set<Context> load(RemoteSource key) {
-                    ImmutableSet.Builder<Context> builder = ImmutableSet.builder();
-                    final InetAddress addr = function.apply(key);
-                    if (addr == null) {
-                        return builder.build();
-                    }
-                    builder.add(new Context(contextKey, addr.getHostAddress()));
-                    for (String set : Maps.filterValues(SpongeImpl.getGlobalConfigAdapter().getConfig().getIpSets(), input -> input.apply(addr)).keySet()) {
-                        builder.add(new Context(contextKey, set));
-                    }
-                    return builder.build();
-                }
-            });
+    private static void addAddressContexts(ImmutableSet.Builder<Context> builder, String contextKey, IpSetTrie trie, InetSocketAddress socket) {
+        final InetAddress addr = getAddress(socket);
+        if (addr == null) {
+            return;
+        }
+        builder.add(new Context(contextKey, addr.getHostAddress()));
+        for (String set : trie.getMatchingSets(addr)) {
+            builder.add(new Context(contextKey, set));
+        }
+    }
+
+    /**
+     * Gets the contexts of a connection, which only change when the ip sets
+     * are reloaded and are otherwise computed once for its lifetime.
+     */
+    private Set<Context> getConnectionContexts(RemoteConnection connection) {
+        final IpSetTrie trie = SpongeImpl.getGlobalConfigAdapter().getConfig().getIpSetTrie();
+        ConnectionContexts contexts = this.connectionCache.getIfPresent(connection);
+        if (contexts == null || contexts.trie != trie) {
+            final ImmutableSet.Builder<Context> builder = ImmutableSet.builder();
+            addAddressContexts(builder, Context.REMOTE_IP_KEY, trie, connection.getAddress());
+            addAddressContexts(builder, Context.LOCAL_IP_KEY, trie, connection.getVirtualHost());
+            builder.add(new Context(Context.LOCAL_PORT_KEY, String.valueOf(connection.getVirtualHost().getPort())));
+            builder.add(new Context(Context.LOCAL_HOST_KEY, connection.getVirtualHost().getHostName()));
+            contexts = new ConnectionContexts(trie, builder.build());
+            this.connectionCache.put(connection, contexts);
+        }
+        return contexts.contexts;
     }
 
     @Override
@@ -100,11 +110,7 @@ public void accumulateContexts(Subject subject, Set<Context> accumulator) {
                 accumulator.add((currentExt.getDimension().getContext()));
             }
             if (source instanceof RemoteSource) {
-                RemoteSource rem = (RemoteSource) source;
-                accumulator.addAll(this.remoteIpCache.getUnchecked(rem));
-                accumulator.addAll(this.localIpCache.getUnchecked(rem));
-                accumulator.add(new Context(Context.LOCAL_PORT_KEY, String.valueOf(rem.getConnection().getVirtualHost().getPort())));
-                accumulator.add(new Context(Context.LOCAL_HOST_KEY, rem.getConnection().getVirtualHost().getHostName()));
+                accumulator.addAll(getConnectionContexts(((RemoteSource) source).getConnection()));
             }
         }
 
@@ -124,18 +130,25 @@ public boolean matches(Context context, Subject subject) {
                 }
             }
             if (source instanceof RemoteSource) {
-                RemoteSource remote = (RemoteSource) source;
-                if (context.getType().equals(Context.LOCAL_HOST_KEY)) {
-                    return context.getValue().equals(remote.getConnection().getVirtualHost().getHostName());
-                } else if (context.getType().equals(Context.LOCAL_PORT_KEY)) {
-                    return context.getValue().equals(String.valueOf(remote.getConnection().getVirtualHost().getPort()));
-                } else if (context.getType().equals(Context.LOCAL_IP_KEY)) {
-                    return this.localIpCache.getUnchecked(remote).contains(context);
-                } else if (context.getType().equals(Context.REMOTE_IP_KEY)) {
-                    return this.remoteIpCache.getUnchecked(remote).contains(context);
+                if (context.getType().equals(Context.LOCAL_HOST_KEY)
+                        || context.getType().equals(Context.LOCAL_PORT_KEY)
+                        || context.getType().equals(Context.LOCAL_IP_KEY)
+                        || context.getType().equals(Context.REMOTE_IP_KEY)) {
+                    return getConnectionContexts(((RemoteSource) source).getConnection()).contains(context);
                 }
             }
         }
         return false;
     }
+
+    private static final class ConnectionContexts {
+
+        final IpSetTrie trie;
+        final Set<Context> contexts;
+
+        ConnectionContexts(IpSetTrie trie, Set<Context> contexts) {
+            this.trie = trie;
+            this.contexts = contexts;
+        }
+    }
 }
@@ -26,7 +26,6 @@
 
 import com.google.common.collect.ImmutableMap;
 import org.spongepowered.api.service.context.Context;
-import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.PermissionService;
 import org.spongepowered.api.service.permission.SubjectReference;
 import org.spongepowered.api.util.Tristate;
@@ -36,7 +35,7 @@
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
-public class GlobalMemorySubjectData extends MemorySubjectData {
+public class GlobalMemorySubjectData extends SpongeMemorySubjectData {
 
     /**
      * Creates a new subject data instance, using the provided service to request instances of permission subjects.
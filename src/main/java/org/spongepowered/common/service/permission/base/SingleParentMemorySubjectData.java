@@ -94,6 +94,7 @@ public CompletableFuture<Boolean> clearParents(Set<Context> contexts) {
 
     public void setParent(@Nullable SubjectReference parent) {
         this.parent = parent;
+        onChange();
     }
 
     @Nullable
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.service.permission.base;
 
+import com.google.common.collect.ImmutableSet;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.PermissionService;
@@ -31,13 +32,42 @@
 import org.spongepowered.api.service.permission.SubjectData;
 import org.spongepowered.api.service.permission.SubjectReference;
 import org.spongepowered.api.util.Tristate;
+import org.spongepowered.common.service.permission.SpongePermissionService;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
 
 public abstract class SpongeBaseSubject implements Subject {
 
+    private static final int MAX_CACHED_PERMISSIONS = 4096;
+    private static final AtomicLong cacheGeneration = new AtomicLong();
+
+    @Nullable private volatile ResolvedPermissions resolvedPermissions;
+
+    /**
+     * Invalidates the resolved permission values of all subjects, as any of
+     * them may inherit from data that has been modified.
+     */
+    public static void invalidatePermissionCaches() {
+        cacheGeneration.incrementAndGet();
+    }
+
+    /**
+     * Gets the current generation of resolved permission values, which
+     * changes every time they are invalidated.
+     *
+     * @return The generation
+     */
+    public static long getPermissionCacheGeneration() {
+        return cacheGeneration.get();
+    }
+
     public abstract PermissionService getService();
 
     @Override
@@ -60,9 +90,50 @@ public boolean hasPermission(Set<Context> contexts, String permission) {
 
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
+        // Subjects of other permission services don't tell us when they change
+        if (!(getService() instanceof SpongePermissionService)) {
+            return resolvePermissionValue(contexts, permission);
+        }
+        final long generation = cacheGeneration.get();
+        ResolvedPermissions resolved = this.resolvedPermissions;
+        if (resolved == null || resolved.generation != generation) {
+            this.resolvedPermissions = resolved = new ResolvedPermissions(generation);
+        }
+        ConcurrentMap<String, Tristate> values = resolved.values.get(contexts);
+        if (values == null) {
+            values = resolved.values.computeIfAbsent(ImmutableSet.copyOf(contexts), key -> new ConcurrentHashMap<>());
+        }
+        Tristate value = values.get(permission);
+        if (value == null) {
+            value = resolvePermissionValue(contexts, permission);
+            if (values.size() >= MAX_CACHED_PERMISSIONS) {
+                values.clear();
+            }
+            values.put(permission, value);
+        }
+        return value;
+    }
+
+    /**
+     * Resolves the value of a permission for this subject, without looking
+     * at previously resolved values.
+     *
+     * @param contexts The contexts to check with
+     * @param permission The permission string
+     * @return The value of the permission
+     */
+    protected Tristate resolvePermissionValue(Set<Context> contexts, String permission) {
         return getDataPermissionValue(getTransientSubjectData(), permission);
     }
 
+    /**
+     * Invalidates the resolved permission values of this subject only, for
+     * data that no other subject can inherit from.
+     */
+    protected void invalidatePermissionCache() {
+        this.resolvedPermissions = null;
+    }
+
     protected Tristate getDataPermissionValue(MemorySubjectData subject, String permission) {
         Tristate res = subject.getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
 
@@ -112,4 +183,14 @@ public Optional<String> getOption(Set<Context> contexts, String key) {
     public Set<Context> getActiveContexts() {
         return SubjectData.GLOBAL_CONTEXT;
     }
+
+    private static final class ResolvedPermissions {
+
+        final long generation;
+        final ConcurrentMap<Set<Context>, ConcurrentMap<String, Tristate>> values = new ConcurrentHashMap<>();
+
+        ResolvedPermissions(long generation) {
+            this.generation = generation;
+        }
+    }
 }
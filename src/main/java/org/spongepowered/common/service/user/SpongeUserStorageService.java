@@ -28,14 +28,12 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
-import com.google.common.collect.Sets;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.service.user.UserStorageService;
 
 import java.util.Collection;
-import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
@@ -49,6 +47,10 @@ public void init() {
         UserDiscoverer.init();
     }
 
+    public void saveIndex() {
+        UserDiscoverer.saveIndex();
+    }
+
     @Override
     public Optional<User> get(UUID uniqueId) {
         try {
@@ -109,15 +111,7 @@ public boolean delete(User user) {
 
     @Override
     public Collection<GameProfile> match(String lastKnownName) {
-        lastKnownName = checkNotNull(lastKnownName, "lastKnownName").toLowerCase(Locale.ROOT);
-        Collection<GameProfile> allProfiles = UserDiscoverer.getAllProfiles();
-        Collection<GameProfile> matching = Sets.newHashSet();
-        for (GameProfile profile : allProfiles) {
-            if (profile.getName().isPresent() && profile.getName().get().startsWith(lastKnownName)) {
-                matching.add(profile);
-            }
-        }
-        return matching;
+        return UserDiscoverer.matchProfiles(checkNotNull(lastKnownName, "lastKnownName"));
     }
 
 }
@@ -0,0 +1,270 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+/**
+ * An index of the users with stored player data, mapping their unique ids
+ * to their last known names and their lower case names back to unique ids.
+ *
+ * <p>The index is saved next to the player data, together with the time the
+ * players directory was last modified. When the directory didn't change
+ * since, the index is loaded instead of listing every player data file.</p>
+ *
+ * <p>The index is thread safe.</p>
+ */
+final class StoredUserIndex {
+
+    private static final int MAGIC = 0x53505549; // SPUI
+    private static final int VERSION = 1;
+
+    private final Map<UUID, String> names = new HashMap<>();
+    private final Set<UUID> unnamed = new HashSet<>();
+    private final NavigableMap<String, Set<UUID>> byLowerCaseName = new TreeMap<>();
+    private boolean dirty;
+
+    /**
+     * Loads the index from the given file, if it is up to date with the
+     * players directory.
+     *
+     * @param file The index file
+     * @param playersDirectory The players directory
+     * @return Whether the index was loaded
+     */
+    synchronized boolean load(final Path file, final Path playersDirectory) {
+        clear();
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                    || buffer.getLong() != Files.getLastModifiedTime(playersDirectory).toMillis()) {
+                return false;
+            }
+            final int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                final UUID uniqueId = new UUID(buffer.getLong(), buffer.getLong());
+                final int length = buffer.getShort();
+                if (length < 0) {
+                    add(uniqueId, null);
+                } else {
+                    final byte[] name = new byte[length];
+                    buffer.get(name);
+                    add(uniqueId, new String(name, StandardCharsets.UTF_8));
+                }
+            }
+            this.dirty = false;
+            return true;
+        } catch (IOException | BufferUnderflowException e) {
+            SpongeImpl.getLogger().warn("Could not read the user index {}, the players directory will be scanned instead", file, e);
+            clear();
+            return false;
+        }
+    }
+
+    /**
+     * Saves the index to the given file if it changed, marking it as up to
+     * date with the given modification time of the players directory.
+     *
+     * @param file The index file
+     * @param directoryModified The time the players directory was last modified
+     */
+    synchronized void save(final Path file, final long directoryModified) {
+        final Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tempFile))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(directoryModified);
+            out.writeInt(this.names.size() + this.unnamed.size());
+            for (Set<UUID> uniqueIds : this.byLowerCaseName.values()) {
+                for (UUID uniqueId : uniqueIds) {
+                    writeEntry(out, uniqueId, this.names.get(uniqueId));
+                }
+            }
+            for (UUID uniqueId : this.unnamed) {
+                writeEntry(out, uniqueId, null);
+            }
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Could not save the user index {}", file, e);
+            return;
+        }
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            this.dirty = false;
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Could not save the user index {}", file, e);
+        }
+    }
+
+    private static void writeEntry(final DataOutputStream out, final UUID uniqueId, @Nullable final String name) throws IOException {
+        out.writeLong(uniqueId.getMostSignificantBits());
+        out.writeLong(uniqueId.getLeastSignificantBits());
+        if (name == null) {
+            out.writeShort(-1);
+        } else {
+            final byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Replaces the contents of the index with the given users.
+     *
+     * @param uniqueIds The unique ids of the stored users
+     * @param nameFunction Looks up the last known name of a user, if any
+     */
+    synchronized void reset(final Collection<UUID> uniqueIds, final Function<UUID, String> nameFunction) {
+        clear();
+        for (UUID uniqueId : uniqueIds) {
+            add(uniqueId, nameFunction.apply(uniqueId));
+        }
+        this.dirty = true;
+    }
+
+    private void clear() {
+        this.names.clear();
+        this.unnamed.clear();
+        this.byLowerCaseName.clear();
+    }
+
+    synchronized boolean isDirty() {
+        return this.dirty;
+    }
+
+    synchronized boolean contains(final UUID uniqueId) {
+        return this.names.containsKey(uniqueId) || this.unnamed.contains(uniqueId);
+    }
+
+    /**
+     * Adds a stored user to the index, or updates its name.
+     *
+     * @param uniqueId The unique id of the user
+     * @param name The last known name of the user, if known
+     */
+    synchronized void add(final UUID uniqueId, @Nullable final String name) {
+        final String previous = this.names.get(uniqueId);
+        if (name == null) {
+            if (previous == null && this.unnamed.add(uniqueId)) {
+                this.dirty = true;
+            }
+            return;
+        }
+        if (name.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            removeName(uniqueId, previous);
+        }
+        this.unnamed.remove(uniqueId);
+        this.names.put(uniqueId, name);
+        this.byLowerCaseName.computeIfAbsent(name.toLowerCase(Locale.ROOT), key -> new HashSet<>(1)).add(uniqueId);
+        this.dirty = true;
+    }
+
+    /**
+     * Updates the name of a user, if it is part of the index.
+     *
+     * @param uniqueId The unique id of the user
+     * @param name The new name of the user
+     */
+    synchronized void updateName(final UUID uniqueId, final String name) {
+        if (contains(uniqueId)) {
+            add(uniqueId, name);
+        }
+    }
+
+    synchronized void remove(final UUID uniqueId) {
+        final String name = this.names.remove(uniqueId);
+        if (name != null) {
+            removeName(uniqueId, name);
+            this.dirty = true;
+        } else if (this.unnamed.remove(uniqueId)) {
+            this.dirty = true;
+        }
+    }
+
+    private void removeName(final UUID uniqueId, final String name) {
+        final String key = name.toLowerCase(Locale.ROOT);
+        final Set<UUID> uniqueIds = this.byLowerCaseName.get(key);
+        if (uniqueIds != null && uniqueIds.remove(uniqueId) && uniqueIds.isEmpty()) {
+            this.byLowerCaseName.remove(key);
+        }
+    }
+
+    @Nullable
+    synchronized String getName(final UUID uniqueId) {
+        return this.names.get(uniqueId);
+    }
+
+    synchronized Set<UUID> getUniqueIds() {
+        final Set<UUID> uniqueIds = new HashSet<>(this.names.keySet());
+        uniqueIds.addAll(this.unnamed);
+        return uniqueIds;
+    }
+
+    /**
+     * Gets the unique ids of all users whose last known name starts with the
+     * given prefix, ignoring case.
+     *
+     * @param prefix The prefix
+     * @return The unique ids of the matching users
+     */
+    synchronized List<UUID> match(final String prefix) {
+        final String lowerCasePrefix = prefix.toLowerCase(Locale.ROOT);
+        final List<UUID> matches = new ArrayList<>();
+        for (Set<UUID> uniqueIds : this.byLowerCaseName.subMap(lowerCasePrefix, true, lowerCasePrefix + Character.MAX_VALUE, false).values()) {
+            matches.addAll(uniqueIds);
+        }
+        return matches;
+    }
+}
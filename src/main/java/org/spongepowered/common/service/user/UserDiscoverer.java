@@ -52,6 +52,7 @@
 import org.spongepowered.common.mixin.core.server.management.UserLIstEntryAccessor;
 import org.spongepowered.common.mixin.core.server.management.UserListAccessor;
 import org.spongepowered.common.mixin.core.world.storage.SaveHandlerAccessor;
+import org.spongepowered.common.util.SpongeUsernameCache;
 import org.spongepowered.common.world.WorldManager;
 
 import java.io.File;
@@ -81,8 +82,11 @@
 class UserDiscoverer {
 
     private static final Map<String, MutableWatchEvent> updateCache = new HashMap<>();
-    private static final Set<UUID> detectedStoredUUIDs = new HashSet<>();
     private static final Pattern DAT_FILENAME_SUFFIX = Pattern.compile("\\.dat$");
+    private static final String INDEX_FILE_NAME = "sponge_user_index.dat";
+
+    // The users with stored data, replaced once the players directory has been loaded
+    private static volatile StoredUserIndex storedUsers = new StoredUserIndex();
 
     @Nullable private static WatchService filesystemWatchService = null;
     @Nullable private static WatchKey watchKey = null;
@@ -293,16 +297,23 @@ private static void startFilesystemWatchServiceTask() {
                 }
             }
 
-            detectedStoredUUIDs.clear();
             nonExistentUsers.clear();
 
             SaveHandlerBridge saveHandler = (SaveHandlerBridge) WorldManager.getWorldByDimensionId(0).get().getSaveHandler();
-            Set<UUID> uuids = getAvailablePlayerUUIDs(saveHandler.bridge$getPlayersDirectory().toPath());
-            detectedStoredUUIDs.addAll(uuids);
+            final Path playersDirectory = saveHandler.bridge$getPlayersDirectory().toPath();
+            final StoredUserIndex index = new StoredUserIndex();
+            if (!index.load(getIndexFile(playersDirectory), playersDirectory)) {
+                // The index doesn't exist yet or the directory changed while the server was offline
+                final PlayerProfileCache profileCache = SpongeImpl.getServer().getPlayerProfileCache();
+                index.reset(getAvailablePlayerUUIDs(playersDirectory), uuid -> getLastKnownName(profileCache, uuid));
+            }
 
             // Anything we might have cached already, we should add it here,
             // in case it's been added but not saved yet
-            detectedStoredUUIDs.addAll(userCache.asMap().keySet());
+            for (User user : userCache.asMap().values()) {
+                index.add(user.getUniqueId(), user.getName());
+            }
+            storedUsers = index;
 
             // Setup the watch service
             try {
@@ -347,18 +358,121 @@ private static Set<UUID> getAvailablePlayerUUIDs(Path playersDirectory) {
         return ret;
     }
 
+    private static Path getIndexFile(Path playersDirectory) {
+        return playersDirectory.resolveSibling(INDEX_FILE_NAME);
+    }
+
+    /**
+     * Saves the index of the users with stored data if it changed, so the
+     * players directory doesn't need to be scanned on the next start.
+     */
+    static void saveIndex() {
+        synchronized (lockingObject) {
+            if (scanningIO || watchKey == null || !watchKey.isValid()) {
+                return;
+            }
+            final Optional<WorldServer> worldServer = WorldManager.getWorldByDimensionId(0);
+            if (!worldServer.isPresent()) {
+                return;
+            }
+            final Path playersDirectory = ((SaveHandlerBridge) worldServer.get().getSaveHandler()).bridge$getPlayersDirectory().toPath();
+            final long directoryModified;
+            try {
+                // Read before polling, so changes that weren't reported yet invalidate the index
+                directoryModified = Files.getLastModifiedTime(playersDirectory).toMillis();
+            } catch (IOException e) {
+                return;
+            }
+            pollFilesystemWatcher();
+            storedUsers.save(getIndexFile(playersDirectory), directoryModified);
+        }
+    }
+
+    /**
+     * Gets the last known name of a stored user, from the username cache or
+     * else from the profile cache of the server. Neither performs a lookup.
+     */
+    @Nullable
+    private static String getLastKnownName(PlayerProfileCache profileCache, UUID uuid) {
+        final String name = SpongeUsernameCache.getLastKnownUsername(uuid);
+        if (name != null) {
+            return name;
+        }
+        final GameProfile profile = profileCache.getProfileByUUID(uuid);
+        return profile == null ? null : profile.getName();
+    }
+
     private static void getProfilesFromDetectedUUIDs(
             PlayerProfileCache profileCache,
             Map<UUID, org.spongepowered.api.profile.GameProfile> profiles) {
 
-        for (UUID uuid : detectedStoredUUIDs) {
-            final GameProfile profile = profileCache.getProfileByUUID(uuid);
+        for (UUID uuid : storedUsers.getUniqueIds()) {
+            final org.spongepowered.api.profile.GameProfile profile = getStoredProfile(profileCache, uuid);
             if (profile != null) {
-                profiles.put(profile.getId(), (org.spongepowered.api.profile.GameProfile) profile);
+                profiles.put(profile.getUniqueId(), profile);
             }
         }
     }
 
+    @Nullable
+    private static org.spongepowered.api.profile.GameProfile getStoredProfile(PlayerProfileCache profileCache, UUID uuid) {
+        final GameProfile profile = profileCache.getProfileByUUID(uuid);
+        if (profile != null) {
+            storedUsers.add(uuid, profile.getName());
+            return (org.spongepowered.api.profile.GameProfile) profile;
+        }
+        // The profile dropped off the Mojang cache, fall back to the name we know
+        final String name = storedUsers.getName(uuid);
+        return name == null ? null : (org.spongepowered.api.profile.GameProfile) new GameProfile(uuid, name);
+    }
+
+    /**
+     * Gets the profiles of all known users whose last known name starts with
+     * the given prefix, ignoring case.
+     *
+     * @param lastKnownName The prefix
+     * @return The matching profiles
+     */
+    @SuppressWarnings("unchecked")
+    static Collection<org.spongepowered.api.profile.GameProfile> matchProfiles(String lastKnownName) {
+        final String prefix = lastKnownName.toLowerCase(Locale.ROOT);
+        if (scanningIO || filesystemWatchService == null || watchKey == null || !watchKey.isValid()) {
+            final Collection<org.spongepowered.api.profile.GameProfile> matching = new HashSet<>();
+            for (org.spongepowered.api.profile.GameProfile profile : getAllProfiles()) {
+                if (profile.getName().isPresent() && profile.getName().get().toLowerCase(Locale.ROOT).startsWith(prefix)) {
+                    matching.add(profile);
+                }
+            }
+            return matching;
+        }
+
+        synchronized (lockingObject) {
+            final Map<UUID, org.spongepowered.api.profile.GameProfile> profiles = new HashMap<>(gameProfileCache);
+            final PlayerProfileCache profileCache = SpongeImpl.getServer().getPlayerProfileCache();
+            pollFilesystemWatcher();
+
+            final PlayerList pl = SpongeImpl.getServer().getPlayerList();
+            addToProfiles(
+                    ((UserListAccessor<GameProfile, UserListWhitelistEntry>) pl.getWhitelistedPlayers()).accessor$getValues().values(),
+                    profiles,
+                    profileCache);
+            addToProfiles(
+                    ((UserListAccessor<GameProfile, UserListBansEntry>) pl.getBannedPlayers()).accessor$getValues().values(),
+                    profiles,
+                    profileCache);
+            profiles.values().removeIf(profile -> !profile.getName().isPresent() || !profile.getName().get().toLowerCase(Locale.ROOT).startsWith(prefix));
+
+            // Only stored users with a matching name have to be looked at
+            for (UUID uuid : storedUsers.match(prefix)) {
+                final org.spongepowered.api.profile.GameProfile profile = getStoredProfile(profileCache, uuid);
+                if (profile != null && profile.getName().isPresent() && profile.getName().get().toLowerCase(Locale.ROOT).startsWith(prefix)) {
+                    profiles.putIfAbsent(uuid, profile);
+                }
+            }
+            return profiles.values();
+        }
+    }
+
     private static void pollFilesystemWatcher() {
         // We've already got the UUIDs, so we need to just see if the file system
         // watcher has found any more (or removed any).
@@ -386,9 +500,9 @@ private static void pollFilesystemWatcher() {
 
                             // It will only be create or delete here.
                             if (kind == StandardWatchEventKinds.ENTRY_CREATE) {
-                                detectedStoredUUIDs.add(uuid);
+                                storedUsers.add(uuid, getLastKnownName(SpongeImpl.getServer().getPlayerProfileCache(), uuid));
                             } else {
-                                detectedStoredUUIDs.remove(uuid);
+                                storedUsers.remove(uuid);
                             }
                         } catch (IllegalArgumentException ex) {
                             // ignored, file isn't of use to us.
@@ -573,6 +687,7 @@ private static void createCacheEntry(User user) {
         if (user.getName() != null) {
             userByNameCache.put(user.getName(), user);
             caseInsensitiveUserByNameCache.put(user.getName().toLowerCase(), user);
+            storedUsers.updateName(user.getUniqueId(), user.getName());
         }
         nonExistentUsers.remove(user.getUniqueId());
     }
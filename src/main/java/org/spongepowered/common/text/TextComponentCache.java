@@ -0,0 +1,187 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import net.minecraft.util.text.ITextComponent;
+import org.spongepowered.api.text.ScoreText;
+import org.spongepowered.api.text.SelectorText;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.TranslatableText;
+import org.spongepowered.api.text.action.ClickAction;
+import org.spongepowered.api.text.action.HoverAction;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * Shares the converted component of a {@link Text} between all equal
+ * {@link Text} instances. Every instance already keeps its own component
+ * once converted, this additionally covers plugins building equal texts
+ * again every tick, such as for scoreboards, tab lists and action bars.
+ *
+ * <p>The shared components are never handed out directly, callers copy
+ * them before they can be modified.</p>
+ *
+ * <p>Texts containing a {@link ScoreText}, a {@link SelectorText} or a
+ * {@link ClickAction.ExecuteCallback} are never shared. Their components are
+ * resolved against the server state when they are built, and equal texts may
+ * resolve to different values later on, such as a callback id that expired
+ * in the meantime, so each of those instances keeps its own component.</p>
+ */
+public final class TextComponentCache {
+
+    private static final Cache<Text, Entry> entries = CacheBuilder.newBuilder()
+            .maximumSize(4096)
+            .softValues()
+            .recordStats()
+            .build();
+    private static final LongAdder conversions = new LongAdder();
+    private static final LongAdder builds = new LongAdder();
+
+    private TextComponentCache() {
+    }
+
+    /**
+     * Gets the shared entry of texts equal to the given one, building the
+     * component if there is none yet.
+     *
+     * @param text The text
+     * @param builder Builds the component of the text
+     * @return The shared entry
+     */
+    public static Entry get(final Text text, final Supplier<ITextComponent> builder) {
+        try {
+            return TextComponentCache.entries.get(text, () -> {
+                TextComponentCache.builds.increment();
+                return new Entry(builder.get());
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new IllegalStateException("Could not convert text " + text, e.getCause());
+        }
+    }
+
+    /**
+     * Creates an entry for a text that must not share its component with
+     * equal texts.
+     *
+     * @param component The component of the text
+     * @return The new entry
+     * @see #isShareable(Text)
+     */
+    public static Entry createUnshared(final ITextComponent component) {
+        TextComponentCache.builds.increment();
+        return new Entry(component);
+    }
+
+    /**
+     * Gets whether the component of the given text may be shared with equal
+     * texts, which is not the case if the text, one of its children, one of
+     * its translation arguments or the text shown on hover contains a
+     * {@link ScoreText}, a {@link SelectorText} or a
+     * {@link ClickAction.ExecuteCallback}.
+     *
+     * @param text The text
+     * @return Whether the component of the text may be shared
+     */
+    public static boolean isShareable(final Text text) {
+        if (text instanceof ScoreText || text instanceof SelectorText
+                || text.getClickAction().orElse(null) instanceof ClickAction.ExecuteCallback) {
+            return false;
+        }
+        final HoverAction<?> hoverAction = text.getHoverAction().orElse(null);
+        if (hoverAction instanceof HoverAction.ShowText && !TextComponentCache.isShareable(((HoverAction.ShowText) hoverAction).getResult())) {
+            return false;
+        }
+        if (text instanceof TranslatableText) {
+            for (final Object argument : ((TranslatableText) text).getArguments()) {
+                if (argument instanceof Text && !TextComponentCache.isShareable((Text) argument)) {
+                    return false;
+                }
+            }
+        }
+        for (final Text child : text.getChildren()) {
+            if (!TextComponentCache.isShareable(child)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records a conversion of a text to a component, whether it was built or
+     * taken from a cache.
+     */
+    public static void recordConversion() {
+        TextComponentCache.conversions.increment();
+    }
+
+    /**
+     * Gets the statistics of the shared entries.
+     *
+     * @return The statistics of the shared entries
+     */
+    public static CacheStats getStats() {
+        return TextComponentCache.entries.stats();
+    }
+
+    /**
+     * Gets the ratio of text conversions that did not have to build a new
+     * component, either because the text instance had already been converted
+     * or because an equal text had been.
+     *
+     * @return The hit ratio, 1 if there were no conversions yet
+     */
+    public static double getHitRatio() {
+        final long conversions = TextComponentCache.conversions.sum();
+        return conversions == 0 ? 1.0D : 1.0D - (double) Math.min(conversions, TextComponentCache.builds.sum()) / conversions;
+    }
+
+    public static final class Entry {
+
+        public final ITextComponent component;
+        @Nullable private volatile String json;
+
+        Entry(final ITextComponent component) {
+            this.component = component;
+        }
+
+        public String getJson() {
+            String json = this.json;
+            if (json == null) {
+                json = ITextComponent.Serializer.componentToJson(this.component);
+                this.json = json;
+            }
+            return json;
+        }
+    }
+
+}
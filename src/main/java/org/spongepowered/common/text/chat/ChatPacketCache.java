@@ -0,0 +1,114 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.chat;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.SPacketChat;
+import net.minecraft.util.text.ITextComponent;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.chat.ChatType;
+import org.spongepowered.api.text.chat.ChatTypes;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.packet.SPacketChatBridge;
+import org.spongepowered.common.text.SpongeTexts;
+
+import java.io.IOException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Creates chat packets, reusing the converted component and the encoded
+ * packet contents while the same {@link Text} is sent to several players in
+ * a row, as happens when a message channel broadcasts a message that isn't
+ * transformed per recipient. Each packet would otherwise serialize the
+ * component to JSON again on its way out.
+ *
+ * <p>The contents are only encoded once the same message is sent a second
+ * time, so messages sent to a single player are encoded as usual.</p>
+ */
+public final class ChatPacketCache {
+
+    @Nullable private static volatile Entry last;
+
+    private ChatPacketCache() {
+    }
+
+    public static SPacketChat createPacket(final Text message, final ChatType type) {
+        final net.minecraft.util.text.ChatType mcType = (net.minecraft.util.text.ChatType) (Object) type;
+        final Entry entry = ChatPacketCache.last;
+        if (entry == null || entry.message != message || entry.type != type) {
+            ITextComponent component = SpongeTexts.toComponent(message);
+            if (type == ChatTypes.ACTION_BAR) {
+                component = SpongeTexts.fixActionBarFormatting(component);
+            }
+            ChatPacketCache.last = new Entry(message, type, component);
+            return new SPacketChat(component, mcType);
+        }
+
+        byte[] encoded = entry.encoded;
+        if (encoded == null) {
+            encoded = ChatPacketCache.encode(new SPacketChat(entry.component, mcType));
+            if (encoded == null) {
+                return new SPacketChat(entry.component, mcType);
+            }
+            entry.encoded = encoded;
+        }
+        final SPacketChat packet = new SPacketChat(entry.component, mcType);
+        ((SPacketChatBridge) packet).bridge$setEncodedContents(encoded);
+        return packet;
+    }
+
+    @Nullable
+    private static byte[] encode(final SPacketChat packet) {
+        final PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        try {
+            packet.writePacketData(buffer);
+            final byte[] encoded = new byte[buffer.readableBytes()];
+            buffer.readBytes(encoded);
+            return encoded;
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Could not encode chat packet, it will be encoded per player instead", e);
+            return null;
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static final class Entry {
+
+        final Text message;
+        final ChatType type;
+        final ITextComponent component;
+        @Nullable volatile byte[] encoded;
+
+        Entry(final Text message, final ChatType type, final ITextComponent component) {
+            this.message = message;
+            this.type = type;
+            this.component = component;
+        }
+    }
+
+}
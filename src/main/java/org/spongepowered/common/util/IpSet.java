@@ -62,7 +62,7 @@ public boolean apply(InetAddress input) {
             }
         }
         for (byte i = 0; i < overlap; ++i) {
-            if (((checkAddr[completeSegments + 1] >> (7 - i)) & 0x1) != ((address[completeSegments + 1] >> (7 - i)) & 0x1)) {
+            if (((checkAddr[completeSegments] >> (7 - i)) & 0x1) != ((address[completeSegments] >> (7 - i)) & 0x1)) {
                 return false;
             }
         }
@@ -70,6 +70,14 @@ public boolean apply(InetAddress input) {
         return true;
     }
 
+    byte[] getAddressBytes() {
+        return this.addr.getAddress();
+    }
+
+    int getPrefixLength() {
+        return this.prefixLen;
+    }
+
     public static IpSet fromAddrPrefix(InetAddress address, int prefixLen) {
         validatePrefixLength(checkNotNull(address, "address"), checkNotNull(prefixLen, "prefixLen"));
         return new IpSet(address, prefixLen);
@@ -0,0 +1,143 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import com.google.common.collect.ImmutableList;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A binary prefix trie over the addresses of named groups of {@link IpSet}s,
+ * which finds every group an address belongs to in a single walk.
+ *
+ * <p>Like {@link IpSet}s combined in the config, an address belongs to a
+ * group when it is part of all of the sets in the group.</p>
+ */
+public final class IpSetTrie {
+
+    private final String[] names;
+    private final int[] required;
+    private final Node ipv4Root = new Node();
+    private final Node ipv6Root = new Node();
+
+    private IpSetTrie(Map<String, List<IpSet>> sets) {
+        this.names = new String[sets.size()];
+        this.required = new int[sets.size()];
+        int index = 0;
+        for (Map.Entry<String, List<IpSet>> entry : sets.entrySet()) {
+            this.names[index] = entry.getKey();
+            for (IpSet set : entry.getValue()) {
+                if (insert(set, index)) {
+                    this.required[index]++;
+                }
+            }
+            index++;
+        }
+    }
+
+    public static IpSetTrie compile(Map<String, List<IpSet>> sets) {
+        return new IpSetTrie(sets);
+    }
+
+    private boolean insert(IpSet set, int index) {
+        final byte[] address = set.getAddressBytes();
+        Node node = address.length == 4 ? this.ipv4Root : this.ipv6Root;
+        for (int bit = 0; bit < set.getPrefixLength(); bit++) {
+            final int branch = bitAt(address, bit);
+            if (node.children[branch] == null) {
+                node.children[branch] = new Node();
+            }
+            node = node.children[branch];
+        }
+        // The same prefix listed twice in a group only has to match once
+        if (node.contains(index)) {
+            return false;
+        }
+        node.add(index);
+        return true;
+    }
+
+    /**
+     * Gets the names of all groups the given address belongs to, in the
+     * iteration order of the groups this trie was compiled from.
+     *
+     * @param address The address
+     * @return The names of the matching groups
+     */
+    public List<String> getMatchingSets(InetAddress address) {
+        final byte[] bytes = address.getAddress();
+        final int[] matched = new int[this.names.length];
+        Node node = bytes.length == 4 ? this.ipv4Root : this.ipv6Root;
+        int bit = 0;
+        while (node != null) {
+            for (int i = 0; i < node.size; i++) {
+                matched[node.sets[i]]++;
+            }
+            if (bit == bytes.length * 8) {
+                break;
+            }
+            node = node.children[bitAt(bytes, bit++)];
+        }
+        final ImmutableList.Builder<String> builder = ImmutableList.builder();
+        for (int i = 0; i < this.names.length; i++) {
+            if (matched[i] == this.required[i]) {
+                builder.add(this.names[i]);
+            }
+        }
+        return builder.build();
+    }
+
+    private static int bitAt(byte[] address, int bit) {
+        return (address[bit >> 3] >> (7 - (bit & 7))) & 1;
+    }
+
+    private static final class Node {
+
+        private static final int[] NO_SETS = new int[0];
+
+        final Node[] children = new Node[2];
+        int[] sets = NO_SETS;
+        int size;
+
+        boolean contains(int index) {
+            for (int i = 0; i < this.size; i++) {
+                if (this.sets[i] == index) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void add(int index) {
+            if (this.size == this.sets.length) {
+                this.sets = Arrays.copyOf(this.sets, this.size + 1);
+            }
+            this.sets[this.size++] = index;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.collision;
+
+import com.google.common.base.Predicate;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.AxisAlignedBB;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+/**
+ * A uniform grid over the entities of a single world, used as a broad phase
+ * for entity collision and cramming queries instead of walking every entity
+ * of every chunk section intersecting the query box.
+ *
+ * <p>Each entity is bucketed by the cell containing the center of its bounding
+ * box. Entities larger than a cell in any dimension are kept aside and checked
+ * on every query, so any entity whose box may intersect a query box is found by
+ * scanning the cells within half a cell of it.</p>
+ */
+public final class EntitySpatialHash {
+
+    private static final long ABSENT = Long.MIN_VALUE;
+    private static final long OVERSIZED = Long.MAX_VALUE;
+
+    /**
+     * Queries spanning more cells than this are left to vanilla, scanning the
+     * chunk sections is cheaper than probing a large amount of mostly empty cells.
+     */
+    private static final int MAX_QUERY_CELLS = 64;
+
+    private final double cellSize;
+    private final double inverseCellSize;
+    private final double halfCellSize;
+    private final Long2ObjectMap<List<Entity>> cells = new Long2ObjectOpenHashMap<>();
+    private final Reference2LongMap<Entity> cellByEntity = new Reference2LongOpenHashMap<>();
+    private final Set<Entity> oversized = new ReferenceOpenHashSet<>();
+
+    public EntitySpatialHash(final double cellSize) {
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1.0D / cellSize;
+        this.halfCellSize = cellSize / 2.0D;
+        this.cellByEntity.defaultReturnValue(ABSENT);
+    }
+
+    public void add(final Entity entity) {
+        if (this.cellByEntity.containsKey(entity)) {
+            this.update(entity);
+            return;
+        }
+        this.insert(entity, this.keyFor(entity.getEntityBoundingBox()));
+    }
+
+    public void remove(final Entity entity) {
+        final long key = this.cellByEntity.removeLong(entity);
+        if (key != ABSENT) {
+            this.unlink(entity, key);
+        }
+    }
+
+    /**
+     * Moves the entity into the cell matching its current bounding box, if it
+     * is tracked by this hash and has left its previous cell.
+     *
+     * @param entity The entity that moved or changed size
+     */
+    public void update(final Entity entity) {
+        final long current = this.cellByEntity.getLong(entity);
+        if (current == ABSENT) {
+            return;
+        }
+        final long key = this.keyFor(entity.getEntityBoundingBox());
+        if (key == current) {
+            return;
+        }
+        this.unlink(entity, current);
+        this.insert(entity, key);
+    }
+
+    public boolean contains(final Entity entity) {
+        return this.cellByEntity.containsKey(entity);
+    }
+
+    public int size() {
+        return this.cellByEntity.size();
+    }
+
+    public int getCellCount() {
+        return this.cells.size();
+    }
+
+    public double getCellSize() {
+        return this.cellSize;
+    }
+
+    /**
+     * Gets whether a query over the given box is small enough to be answered
+     * by this hash rather than by scanning chunk sections.
+     *
+     * @param aabb The query box
+     * @return True if {@link #getEntitiesWithinAABBExcludingEntity} should be used
+     */
+    public boolean canQuery(final AxisAlignedBB aabb) {
+        final long spanX = this.cell(aabb.maxX + this.halfCellSize) - this.cell(aabb.minX - this.halfCellSize) + 1;
+        final long spanY = this.cell(aabb.maxY + this.halfCellSize) - this.cell(aabb.minY - this.halfCellSize) + 1;
+        final long spanZ = this.cell(aabb.maxZ + this.halfCellSize) - this.cell(aabb.minZ - this.halfCellSize) + 1;
+        return spanX * spanY * spanZ <= MAX_QUERY_CELLS;
+    }
+
+    /**
+     * Collects the entities, and their parts, intersecting the given box in the
+     * same manner as {@link net.minecraft.world.chunk.Chunk#getEntitiesWithinAABBForEntity}.
+     *
+     * @param excluded The entity to exclude, if any
+     * @param aabb The query box
+     * @param predicate The filter, if any
+     * @param limit The maximum amount of entities to collect
+     * @param listToFill The list to collect into
+     */
+    @SuppressWarnings("Guava")
+    public void getEntitiesWithinAABBExcludingEntity(@Nullable final Entity excluded, final AxisAlignedBB aabb,
+        @Nullable final Predicate<? super Entity> predicate, final int limit, final List<Entity> listToFill) {
+        final int minX = this.cell(aabb.minX - this.halfCellSize);
+        final int maxX = this.cell(aabb.maxX + this.halfCellSize);
+        final int minY = this.cell(aabb.minY - this.halfCellSize);
+        final int maxY = this.cell(aabb.maxY + this.halfCellSize);
+        final int minZ = this.cell(aabb.minZ - this.halfCellSize);
+        final int maxZ = this.cell(aabb.maxZ + this.halfCellSize);
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int y = minY; y <= maxY; y++) {
+                    final List<Entity> cell = this.cells.get(pack(x, y, z));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int i = 0, size = cell.size(); i < size; i++) {
+                        if (!collect(cell.get(i), excluded, aabb, predicate, limit, listToFill)) {
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+        for (final Entity entity : this.oversized) {
+            if (!collect(entity, excluded, aabb, predicate, limit, listToFill)) {
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("Guava")
+    private static boolean collect(final Entity entity, @Nullable final Entity excluded, final AxisAlignedBB aabb,
+        @Nullable final Predicate<? super Entity> predicate, final int limit, final List<Entity> listToFill) {
+        if (entity == excluded || !entity.getEntityBoundingBox().intersects(aabb)) {
+            return true;
+        }
+        if (predicate == null || predicate.apply(entity)) {
+            if (listToFill.size() >= limit) {
+                return false;
+            }
+            listToFill.add(entity);
+        }
+        final Entity[] parts = entity.getParts();
+        if (parts != null) {
+            for (final Entity part : parts) {
+                if (part != excluded && part.getEntityBoundingBox().intersects(aabb) && (predicate == null || predicate.apply(part))) {
+                    if (listToFill.size() >= limit) {
+                        return false;
+                    }
+                    listToFill.add(part);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void insert(final Entity entity, final long key) {
+        this.cellByEntity.put(entity, key);
+        if (key == OVERSIZED) {
+            this.oversized.add(entity);
+        } else {
+            this.cells.computeIfAbsent(key, k -> new ArrayList<>(4)).add(entity);
+        }
+    }
+
+    private void unlink(final Entity entity, final long key) {
+        if (key == OVERSIZED) {
+            this.oversized.remove(entity);
+            return;
+        }
+        final List<Entity> cell = this.cells.get(key);
+        if (cell != null) {
+            cell.remove(entity);
+            if (cell.isEmpty()) {
+                this.cells.remove(key);
+            }
+        }
+    }
+
+    private long keyFor(final AxisAlignedBB box) {
+        if (box.maxX - box.minX > this.cellSize || box.maxY - box.minY > this.cellSize || box.maxZ - box.minZ > this.cellSize) {
+            return OVERSIZED;
+        }
+        return pack(this.cell((box.minX + box.maxX) * 0.5D), this.cell((box.minY + box.maxY) * 0.5D), this.cell((box.minZ + box.maxZ) * 0.5D));
+    }
+
+    private int cell(final double coordinate) {
+        return (int) Math.floor(coordinate * this.inverseCellSize);
+    }
+
+    /**
+     * Packs cell coordinates into 27 bits for x and z and 10 bits for y. Cells
+     * outside of that range alias onto others, which only yields additional
+     * candidates that are then rejected by the exact bounding box checks.
+     */
+    private static long pack(final int x, final int y, final int z) {
+        return ((long) x & 0x7FFFFFFL) << 37 | ((long) z & 0x7FFFFFFL) << 10 | (long) y & 0x3FFL;
+    }
+
+}
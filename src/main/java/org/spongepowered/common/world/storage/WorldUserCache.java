@@ -0,0 +1,164 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.common.bridge.world.WorldInfoBridge;
+import org.spongepowered.common.world.WorldManager;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * A per world cache of stored {@link User}s keyed by the tracked owner/notifier
+ * index assigned through {@link WorldInfoBridge#bridge$getIndexForUniqueId(UUID)}.
+ *
+ * <p>Online players are never cached, they are resolved through the player
+ * list so that a respawned or teleported player is never replaced by a stale
+ * entity. Users are only weakly referenced so that offline users aren't kept
+ * alive by block tracking, their entries are dropped once they were
+ * collected. Entries are also dropped whenever the player logs out, as the
+ * stored user data changes.</p>
+ */
+public final class WorldUserCache {
+
+    private final Int2ObjectMap<UserReference> usersByIndex = new Int2ObjectOpenHashMap<>();
+    private final Object2IntMap<UUID> indexByUniqueId = new Object2IntOpenHashMap<>();
+    private final ReferenceQueue<User> collected = new ReferenceQueue<>();
+    private long hits;
+    private long misses;
+
+    public WorldUserCache() {
+        this.indexByUniqueId.defaultReturnValue(-1);
+    }
+
+    @Nullable
+    public User get(final int index) {
+        this.expunge();
+        final UserReference reference = this.usersByIndex.get(index);
+        if (reference != null) {
+            final User user = reference.get();
+            if (user != null) {
+                this.hits++;
+                return user;
+            }
+            this.remove(reference);
+        }
+        this.misses++;
+        return null;
+    }
+
+    public void put(final int index, final User user) {
+        this.expunge();
+        this.usersByIndex.put(index, new UserReference(user, index, this.collected));
+        this.indexByUniqueId.put(user.getUniqueId(), index);
+    }
+
+    public void invalidate(final UUID uniqueId) {
+        final int index = this.indexByUniqueId.removeInt(uniqueId);
+        if (index != -1) {
+            this.usersByIndex.remove(index);
+        }
+    }
+
+    /**
+     * Drops the entries of users that were garbage collected, so that the
+     * unique id index doesn't grow with every user ever tracked.
+     */
+    private void expunge() {
+        Reference<? extends User> reference;
+        while ((reference = this.collected.poll()) != null) {
+            this.remove((UserReference) reference);
+        }
+    }
+
+    private void remove(final UserReference reference) {
+        // A newer reference put for the index, or an invalidation, already took care of both maps
+        if (this.usersByIndex.get(reference.index) != reference) {
+            return;
+        }
+        this.usersByIndex.remove(reference.index);
+        if (this.indexByUniqueId.getInt(reference.uniqueId) == reference.index) {
+            this.indexByUniqueId.removeInt(reference.uniqueId);
+        }
+    }
+
+    public void clear() {
+        this.usersByIndex.clear();
+        this.indexByUniqueId.clear();
+    }
+
+    public int size() {
+        this.expunge();
+        return this.usersByIndex.size();
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    public long getMisses() {
+        return this.misses;
+    }
+
+    public double getHitRatio() {
+        final long total = this.hits + this.misses;
+        return total == 0 ? 0.0D : (double) this.hits / total;
+    }
+
+    /**
+     * Drops the cached {@link User} for the given unique id from every loaded
+     * world, called when a player logs out.
+     *
+     * @param uniqueId The unique id of the player
+     */
+    public static void invalidateAll(final UUID uniqueId) {
+        for (final WorldServer worldServer : WorldManager.getWorlds()) {
+            ((WorldInfoBridge) worldServer.getWorldInfo()).bridge$getUserCache().invalidate(uniqueId);
+        }
+    }
+
+    private static final class UserReference extends WeakReference<User> {
+
+        final UUID uniqueId;
+        final int index;
+
+        UserReference(final User user, final int index, final ReferenceQueue<User> queue) {
+            super(user, queue);
+            this.uniqueId = user.getUniqueId();
+            this.index = index;
+        }
+    }
+
+}
@@ -0,0 +1,598 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.tick;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongHeapPriorityQueue;
+import it.unimi.dsi.fastutil.longs.LongPriorityQueue;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.NextTickListEntry;
+import net.minecraft.world.gen.structure.StructureBoundingBox;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+
+import javax.annotation.Nullable;
+
+/**
+ * A replacement for the {@link TreeSet} of pending scheduled block updates kept
+ * by {@link net.minecraft.world.WorldServer}.
+ *
+ * <p>Entries are bucketed by the tick they are scheduled for, each bucket
+ * being kept in (priority, insertion) order. As entries are almost always
+ * scheduled in increasing id order with the same priority, inserting is
+ * usually an append to the bucket of that tick, and taking the first entry
+ * only has to look at the earliest bucket. Entries are additionally indexed by
+ * chunk so that the updates of a single chunk can be collected on save and
+ * unload without walking every pending update.</p>
+ *
+ * <p>Removal is lazy: buckets may hold entries that were removed, they are
+ * skipped as the bucket is drained. Entries whose tick was changed while
+ * queued are moved to the bucket of their new tick in the same way. The rest of {@link NavigableSet}, which
+ * vanilla doesn't use on the pending updates, is backed by a {@link TreeSet}
+ * that is only built and maintained once something iterates or navigates the
+ * queue.</p>
+ */
+public final class ScheduledTickQueue extends TreeSet<NextTickListEntry> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long2ObjectMap<Bucket> buckets = new Long2ObjectOpenHashMap<>();
+    private final LongPriorityQueue times = new LongHeapPriorityQueue();
+    private final Set<NextTickListEntry> live = new ReferenceOpenHashSet<>();
+    private final Long2ObjectMap<Set<NextTickListEntry>> chunks = new Long2ObjectOpenHashMap<>();
+    @Nullable private TreeSet<NextTickListEntry> sorted;
+
+    @Override
+    public boolean add(final NextTickListEntry entry) {
+        if (!this.track(entry)) {
+            return false;
+        }
+        if (this.sorted != null) {
+            this.sorted.add(entry);
+        }
+        return true;
+    }
+
+    private boolean track(final NextTickListEntry entry) {
+        if (!this.live.add(entry)) {
+            return false;
+        }
+        this.bucket(entry);
+        this.chunks.computeIfAbsent(chunkKey(entry), k -> new ReferenceOpenHashSet<>()).add(entry);
+        return true;
+    }
+
+    /**
+     * Inserts the entry into the bucket of the tick it is scheduled for.
+     */
+    private void bucket(final NextTickListEntry entry) {
+        Bucket bucket = this.buckets.get(entry.scheduledTime);
+        if (bucket == null) {
+            bucket = new Bucket(entry.scheduledTime);
+            this.buckets.put(entry.scheduledTime, bucket);
+            this.times.enqueue(entry.scheduledTime);
+        }
+        bucket.insert(entry);
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends NextTickListEntry> collection) {
+        boolean changed = false;
+        for (final NextTickListEntry entry : collection) {
+            changed |= this.add(entry);
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean remove(final Object object) {
+        if (!this.untrack(object)) {
+            return false;
+        }
+        if (this.sorted != null) {
+            this.sorted.remove(object);
+        }
+        return true;
+    }
+
+    private boolean untrack(final Object object) {
+        if (!(object instanceof NextTickListEntry) || !this.live.remove(object)) {
+            return false;
+        }
+        final NextTickListEntry entry = (NextTickListEntry) object;
+        final long chunkKey = chunkKey(entry);
+        final Set<NextTickListEntry> chunk = this.chunks.get(chunkKey);
+        if (chunk != null && chunk.remove(entry) && chunk.isEmpty()) {
+            this.chunks.remove(chunkKey);
+        }
+        // The bucket entry is dropped once the bucket is drained
+        return true;
+    }
+
+    @Override
+    public boolean contains(final Object object) {
+        return this.live.contains(object);
+    }
+
+    @Override
+    public int size() {
+        return this.live.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.live.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        this.buckets.clear();
+        this.times.clear();
+        this.live.clear();
+        this.chunks.clear();
+        this.sorted = null;
+    }
+
+    @Override
+    public NextTickListEntry first() {
+        final NextTickListEntry first = this.peek();
+        if (first == null) {
+            throw new NoSuchElementException();
+        }
+        return first;
+    }
+
+    @Nullable
+    @Override
+    public NextTickListEntry pollFirst() {
+        final NextTickListEntry first = this.peek();
+        if (first != null) {
+            this.remove(first);
+        }
+        return first;
+    }
+
+    @Nullable
+    private NextTickListEntry peek() {
+        while (!this.times.isEmpty()) {
+            final long time = this.times.firstLong();
+            final Bucket bucket = this.buckets.get(time);
+            final NextTickListEntry first = bucket.peek(this);
+            if (this.times.firstLong() != time) {
+                // An entry was rescheduled to an earlier tick, start over from there
+                continue;
+            }
+            if (first != null) {
+                return first;
+            }
+            this.times.dequeueLong();
+            this.buckets.remove(time);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the fully ordered index of the pending updates, building it if
+     * this is the first time it is needed.
+     */
+    private TreeSet<NextTickListEntry> sorted() {
+        if (this.sorted == null) {
+            this.sorted = new TreeSet<>(this.live);
+        }
+        return this.sorted;
+    }
+
+    /**
+     * Iterates over all pending updates in order. The first call builds a
+     * {@link TreeSet} of the pending updates which is kept up to date from
+     * then on, so this should be avoided on hot paths.
+     */
+    @Override
+    public Iterator<NextTickListEntry> iterator() {
+        return new TrackedIterator(this.sorted().iterator());
+    }
+
+    /**
+     * Iterates, in order, over the pending updates in the chunks intersecting
+     * the given box. Updates outside of the box may be returned, callers are
+     * expected to check the positions as they would for {@link #iterator()}.
+     *
+     * @param box The box to collect updates from
+     * @return The iterator
+     */
+    public Iterator<NextTickListEntry> iterator(final StructureBoundingBox box) {
+        final List<NextTickListEntry> entries = new ArrayList<>();
+        for (int x = box.minX >> 4; x <= box.maxX >> 4; x++) {
+            for (int z = box.minZ >> 4; z <= box.maxZ >> 4; z++) {
+                final Set<NextTickListEntry> chunk = this.chunks.get(ChunkPos.asLong(x, z));
+                if (chunk != null) {
+                    entries.addAll(chunk);
+                }
+            }
+        }
+        return this.sortedIterator(entries);
+    }
+
+    private Iterator<NextTickListEntry> sortedIterator(final List<NextTickListEntry> entries) {
+        final NextTickListEntry[] sorted = entries.toArray(new NextTickListEntry[0]);
+        Arrays.sort(sorted);
+        return new Iterator<NextTickListEntry>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < sorted.length;
+            }
+
+            @Override
+            public NextTickListEntry next() {
+                if (this.index >= sorted.length) {
+                    throw new NoSuchElementException();
+                }
+                return sorted[this.index++];
+            }
+
+            @Override
+            public void remove() {
+                if (this.index == 0) {
+                    throw new IllegalStateException();
+                }
+                ScheduledTickQueue.this.remove(sorted[this.index - 1]);
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<NextTickListEntry> spliterator() {
+        return Spliterators.spliterator(this, Spliterator.DISTINCT | Spliterator.ORDERED);
+    }
+
+    @Override
+    public NextTickListEntry last() {
+        return this.sorted().last();
+    }
+
+    @Nullable
+    @Override
+    public NextTickListEntry pollLast() {
+        final NextTickListEntry last = this.sorted().pollLast();
+        if (last != null) {
+            this.untrack(last);
+        }
+        return last;
+    }
+
+    @Nullable
+    @Override
+    public NextTickListEntry lower(final NextTickListEntry entry) {
+        return this.sorted().lower(entry);
+    }
+
+    @Nullable
+    @Override
+    public NextTickListEntry floor(final NextTickListEntry entry) {
+        return this.sorted().floor(entry);
+    }
+
+    @Nullable
+    @Override
+    public NextTickListEntry ceiling(final NextTickListEntry entry) {
+        return this.sorted().ceiling(entry);
+    }
+
+    @Nullable
+    @Override
+    public NextTickListEntry higher(final NextTickListEntry entry) {
+        return this.sorted().higher(entry);
+    }
+
+    @Override
+    public Iterator<NextTickListEntry> descendingIterator() {
+        return new TrackedIterator(this.sorted().descendingIterator());
+    }
+
+    @Override
+    public NavigableSet<NextTickListEntry> descendingSet() {
+        return new View(this.sorted().descendingSet());
+    }
+
+    @Override
+    public NavigableSet<NextTickListEntry> subSet(final NextTickListEntry fromElement, final boolean fromInclusive,
+        final NextTickListEntry toElement, final boolean toInclusive) {
+        return new View(this.sorted().subSet(fromElement, fromInclusive, toElement, toInclusive));
+    }
+
+    @Override
+    public NavigableSet<NextTickListEntry> headSet(final NextTickListEntry toElement, final boolean inclusive) {
+        return new View(this.sorted().headSet(toElement, inclusive));
+    }
+
+    @Override
+    public NavigableSet<NextTickListEntry> tailSet(final NextTickListEntry fromElement, final boolean inclusive) {
+        return new View(this.sorted().tailSet(fromElement, inclusive));
+    }
+
+    @Override
+    public SortedSet<NextTickListEntry> subSet(final NextTickListEntry fromElement, final NextTickListEntry toElement) {
+        return this.subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public SortedSet<NextTickListEntry> headSet(final NextTickListEntry toElement) {
+        return this.headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSet<NextTickListEntry> tailSet(final NextTickListEntry fromElement) {
+        return this.tailSet(fromElement, true);
+    }
+
+    @Override
+    public Object clone() {
+        final ScheduledTickQueue copy = new ScheduledTickQueue();
+        copy.addAll(this.live);
+        return copy;
+    }
+
+    private static long chunkKey(final NextTickListEntry entry) {
+        return ChunkPos.asLong(entry.position.getX() >> 4, entry.position.getZ() >> 4);
+    }
+
+    /**
+     * An iterator over the ordered index which also drops removed entries
+     * from the buckets and the chunk index.
+     */
+    private final class TrackedIterator implements Iterator<NextTickListEntry> {
+
+        private final Iterator<NextTickListEntry> delegate;
+        @Nullable private NextTickListEntry last;
+
+        TrackedIterator(final Iterator<NextTickListEntry> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.delegate.hasNext();
+        }
+
+        @Override
+        public NextTickListEntry next() {
+            this.last = this.delegate.next();
+            return this.last;
+        }
+
+        @Override
+        public void remove() {
+            this.delegate.remove();
+            ScheduledTickQueue.this.untrack(this.last);
+        }
+    }
+
+    /**
+     * A view of a range of the ordered index, changes are written through
+     * to the queue.
+     */
+    private final class View extends AbstractSet<NextTickListEntry> implements NavigableSet<NextTickListEntry> {
+
+        private final NavigableSet<NextTickListEntry> delegate;
+
+        View(final NavigableSet<NextTickListEntry> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean add(final NextTickListEntry entry) {
+            if (ScheduledTickQueue.this.live.contains(entry)) {
+                return false;
+            }
+            // Adding to the view checks that the entry is within its range
+            this.delegate.add(entry);
+            ScheduledTickQueue.this.track(entry);
+            return true;
+        }
+
+        @Override
+        public boolean remove(final Object object) {
+            if (!ScheduledTickQueue.this.live.contains(object) || !this.delegate.remove(object)) {
+                return false;
+            }
+            ScheduledTickQueue.this.untrack(object);
+            return true;
+        }
+
+        @Override
+        public boolean contains(final Object object) {
+            return ScheduledTickQueue.this.live.contains(object) && this.delegate.contains(object);
+        }
+
+        @Override
+        public int size() {
+            return this.delegate.size();
+        }
+
+        @Override
+        public Iterator<NextTickListEntry> iterator() {
+            return new TrackedIterator(this.delegate.iterator());
+        }
+
+        @Override
+        public Iterator<NextTickListEntry> descendingIterator() {
+            return new TrackedIterator(this.delegate.descendingIterator());
+        }
+
+        @Nullable
+        @Override
+        public Comparator<? super NextTickListEntry> comparator() {
+            return this.delegate.comparator();
+        }
+
+        @Override
+        public NextTickListEntry first() {
+            return this.delegate.first();
+        }
+
+        @Override
+        public NextTickListEntry last() {
+            return this.delegate.last();
+        }
+
+        @Nullable
+        @Override
+        public NextTickListEntry lower(final NextTickListEntry entry) {
+            return this.delegate.lower(entry);
+        }
+
+        @Nullable
+        @Override
+        public NextTickListEntry floor(final NextTickListEntry entry) {
+            return this.delegate.floor(entry);
+        }
+
+        @Nullable
+        @Override
+        public NextTickListEntry ceiling(final NextTickListEntry entry) {
+            return this.delegate.ceiling(entry);
+        }
+
+        @Nullable
+        @Override
+        public NextTickListEntry higher(final NextTickListEntry entry) {
+            return this.delegate.higher(entry);
+        }
+
+        @Nullable
+        @Override
+        public NextTickListEntry pollFirst() {
+            final NextTickListEntry first = this.delegate.pollFirst();
+            if (first != null) {
+                ScheduledTickQueue.this.untrack(first);
+            }
+            return first;
+        }
+
+        @Nullable
+        @Override
+        public NextTickListEntry pollLast() {
+            final NextTickListEntry last = this.delegate.pollLast();
+            if (last != null) {
+                ScheduledTickQueue.this.untrack(last);
+            }
+            return last;
+        }
+
+        @Override
+        public NavigableSet<NextTickListEntry> descendingSet() {
+            return new View(this.delegate.descendingSet());
+        }
+
+        @Override
+        public NavigableSet<NextTickListEntry> subSet(final NextTickListEntry fromElement, final boolean fromInclusive,
+            final NextTickListEntry toElement, final boolean toInclusive) {
+            return new View(this.delegate.subSet(fromElement, fromInclusive, toElement, toInclusive));
+        }
+
+        @Override
+        public NavigableSet<NextTickListEntry> headSet(final NextTickListEntry toElement, final boolean inclusive) {
+            return new View(this.delegate.headSet(toElement, inclusive));
+        }
+
+        @Override
+        public NavigableSet<NextTickListEntry> tailSet(final NextTickListEntry fromElement, final boolean inclusive) {
+            return new View(this.delegate.tailSet(fromElement, inclusive));
+        }
+
+        @Override
+        public SortedSet<NextTickListEntry> subSet(final NextTickListEntry fromElement, final NextTickListEntry toElement) {
+            return this.subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public SortedSet<NextTickListEntry> headSet(final NextTickListEntry toElement) {
+            return this.headSet(toElement, false);
+        }
+
+        @Override
+        public SortedSet<NextTickListEntry> tailSet(final NextTickListEntry fromElement) {
+            return this.tailSet(fromElement, true);
+        }
+    }
+
+    /**
+     * The entries scheduled for a single tick, ordered by priority and then by
+     * id. Entries before {@code head} have been drained.
+     */
+    private static final class Bucket {
+
+        final long time;
+        final List<NextTickListEntry> entries = new ArrayList<>();
+        int head;
+
+        Bucket(final long time) {
+            this.time = time;
+        }
+
+        void insert(final NextTickListEntry entry) {
+            // Entries are nearly always added in order, so look for the slot from the end
+            int index = this.entries.size();
+            while (index > this.head && this.entries.get(index - 1).compareTo(entry) > 0) {
+                index--;
+            }
+            this.entries.add(index, entry);
+        }
+
+        @Nullable
+        NextTickListEntry peek(final ScheduledTickQueue queue) {
+            while (this.head < this.entries.size()) {
+                final NextTickListEntry entry = this.entries.get(this.head);
+                if (queue.live.contains(entry)) {
+                    if (entry.scheduledTime == this.time) {
+                        return entry;
+                    }
+                    // Rescheduled to another tick since it was queued, such as by ScheduledBlockUpdate#setTicks
+                    queue.bucket(entry);
+                }
+                this.entries.set(this.head++, null);
+            }
+            return null;
+        }
+    }
+
+}
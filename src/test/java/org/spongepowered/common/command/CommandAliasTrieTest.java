@@ -0,0 +1,76 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import org.junit.Test;
+import org.spongepowered.api.command.CommandMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CommandAliasTrieTest {
+
+    private static List<String> aliasesStartingWith(final CommandAliasTrie trie, final String prefix) {
+        final List<String> aliases = new ArrayList<>();
+        trie.forEachStartingWith(prefix, (alias, mappings) -> aliases.add(alias));
+        return aliases;
+    }
+
+    @Test
+    public void testPrefixLookup() {
+        final ListMultimap<String, CommandMapping> commands = ArrayListMultimap.create();
+        commands.put("tp", mock(CommandMapping.class));
+        commands.put("tell", mock(CommandMapping.class));
+        commands.put("teleport", mock(CommandMapping.class));
+        commands.put("time", mock(CommandMapping.class));
+        commands.put("say", mock(CommandMapping.class));
+        final CommandAliasTrie trie = CommandAliasTrie.of(commands);
+
+        assertEquals(ImmutableList.of("teleport", "tell", "time", "tp"), aliasesStartingWith(trie, "t"));
+        assertEquals(ImmutableList.of("teleport", "tell"), aliasesStartingWith(trie, "te"));
+        assertEquals(ImmutableList.of("tp"), aliasesStartingWith(trie, "tp"));
+        assertEquals(ImmutableList.of(), aliasesStartingWith(trie, "tpa"));
+        assertEquals(5, aliasesStartingWith(trie, "").size());
+    }
+
+    @Test
+    public void testMappingsOfAlias() {
+        final CommandMapping first = mock(CommandMapping.class);
+        final CommandMapping second = mock(CommandMapping.class);
+        final ListMultimap<String, CommandMapping> commands = ArrayListMultimap.create();
+        commands.put("give", first);
+        commands.put("give", second);
+        final List<CommandMapping> found = new ArrayList<>();
+        CommandAliasTrie.of(commands).forEachStartingWith("giv", (alias, mappings) -> found.addAll(mappings));
+
+        assertEquals(ImmutableList.of(first, second), found);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.data.DataHolder;
+import org.spongepowered.api.data.DataTransactionResult;
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.value.immutable.ImmutableValue;
+import org.spongepowered.api.event.data.ChangeDataHolderEvent;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class DataChangeCollectorTest {
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ImmutableValue<?> value(final Key<?> key, final int value) {
+        final ImmutableValue mock = mock(ImmutableValue.class);
+        when(mock.getKey()).thenReturn(key);
+        when(mock.get()).thenReturn(value);
+        return mock;
+    }
+
+    private static DataTransactionResult change(final Key<?> key, final int from, final int to) {
+        return DataTransactionResult.builder()
+                .result(DataTransactionResult.Type.SUCCESS)
+                .success(value(key, to))
+                .replace(value(key, from))
+                .build();
+    }
+
+    private static Key<?> subscribe(final List<ChangeDataHolderEvent.ValueChange> events) {
+        final Key<?> key = mock(Key.class);
+        DataChangeCollector.subscribe(key, DataHolder.class, events::add, mock(PluginContainer.class));
+        return key;
+    }
+
+    @Test
+    public void testRecordedChangeIsDelivered() {
+        final List<ChangeDataHolderEvent.ValueChange> events = new ArrayList<>();
+        final Key<?> key = subscribe(events);
+        final DataHolder holder = mock(DataHolder.class);
+
+        DataChangeCollector.collect(holder, change(key, 1, 2));
+        DataChangeCollector.flush();
+
+        assertEquals(1, events.size());
+        assertEquals(holder, events.get(0).getTargetHolder());
+        assertEquals(2, events.get(0).getEndResult().getSuccessfulData().get(0).get());
+        assertEquals(1, events.get(0).getEndResult().getReplacedData().get(0).get());
+    }
+
+    @Test
+    public void testChangesOfAKeyAreCoalesced() {
+        final List<ChangeDataHolderEvent.ValueChange> events = new ArrayList<>();
+        final Key<?> key = subscribe(events);
+        final DataHolder holder = mock(DataHolder.class);
+
+        DataChangeCollector.collect(holder, change(key, 1, 2));
+        DataChangeCollector.collect(holder, change(key, 2, 3));
+        DataChangeCollector.collect(holder, change(key, 3, 4));
+        DataChangeCollector.flush();
+
+        assertEquals(1, events.size());
+        final DataTransactionResult result = events.get(0).getEndResult();
+        assertEquals(1, result.getSuccessfulData().size());
+        assertEquals(4, result.getSuccessfulData().get(0).get());
+        assertEquals(1, result.getReplacedData().get(0).get());
+    }
+
+    @Test
+    public void testChangesBackToTheOriginalValueAreDropped() {
+        final List<ChangeDataHolderEvent.ValueChange> events = new ArrayList<>();
+        final Key<?> key = subscribe(events);
+        final DataHolder holder = mock(DataHolder.class);
+
+        DataChangeCollector.collect(holder, change(key, 1, 2));
+        DataChangeCollector.collect(holder, change(key, 2, 1));
+        DataChangeCollector.flush();
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testChangesWhileDeliveringAreDeliveredOnTheNextFlush() {
+        final List<ChangeDataHolderEvent.ValueChange> events = new ArrayList<>();
+        final Key<?> key = mock(Key.class);
+        final DataHolder holder = mock(DataHolder.class);
+        // Writes the key again every time it is notified
+        DataChangeCollector.subscribe(key, DataHolder.class, event -> {
+            events.add(event);
+            DataChangeCollector.collect(holder, change(key, events.size(), events.size() + 1));
+        }, mock(PluginContainer.class));
+
+        DataChangeCollector.collect(holder, change(key, 0, 1));
+        DataChangeCollector.flush();
+        assertEquals(1, events.size());
+
+        DataChangeCollector.flush();
+        assertEquals(2, events.size());
+    }
+
+}
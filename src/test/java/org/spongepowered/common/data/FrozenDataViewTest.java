@@ -0,0 +1,92 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+
+public class FrozenDataViewTest {
+
+    private static DataContainer createContainer() {
+        final DataContainer container = DataContainer.createNew();
+        container.set(DataQuery.of("int"), 5);
+        container.set(DataQuery.of("string"), "value");
+        container.set(DataQuery.of("bytes"), new byte[] {1, 2, 3});
+        container.set(DataQuery.of("list"), ImmutableList.of("a", "b"));
+        container.set(DataQuery.of("inner", "deep", "double"), 1.5);
+        for (int i = 0; i < 20; i++) {
+            container.set(DataQuery.of("wide", "key" + i), i);
+        }
+        return container;
+    }
+
+    @Test
+    public void testReads() {
+        final DataContainer source = createContainer();
+        final DataContainer frozen = FrozenDataContainer.freeze(source);
+
+        assertEquals(5, (int) frozen.getInt(DataQuery.of("int")).get());
+        assertEquals("value", frozen.getString(DataQuery.of("string")).get());
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) frozen.get(DataQuery.of("bytes")).get());
+        assertEquals(ImmutableList.of("a", "b"), frozen.getStringList(DataQuery.of("list")).get());
+        assertEquals(1.5, frozen.getDouble(DataQuery.of("inner", "deep", "double")).get(), 0);
+        assertEquals(DataQuery.of("inner", "deep"), frozen.getView(DataQuery.of("inner", "deep")).get().getCurrentPath());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, (int) frozen.getInt(DataQuery.of("wide", "key" + i)).get());
+        }
+        assertTrue(frozen.contains(DataQuery.of("inner", "deep", "double")));
+        assertFalse(frozen.contains(DataQuery.of("inner", "missing")));
+        assertFalse(frozen.get(DataQuery.of("int", "missing")).isPresent());
+        assertEquals(source.getKeys(true), frozen.getKeys(true));
+        // Arrays are compared by identity in memory views
+        final DataContainer copy = frozen.copy().remove(DataQuery.of("bytes"));
+        assertEquals(source.remove(DataQuery.of("bytes")), copy);
+    }
+
+    @Test
+    public void testArraysAreCopied() {
+        final DataContainer frozen = FrozenDataContainer.freeze(createContainer());
+        ((byte[]) frozen.get(DataQuery.of("bytes")).get())[0] = 42;
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) frozen.get(DataQuery.of("bytes")).get());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSetFails() {
+        FrozenDataContainer.freeze(createContainer()).set(DataQuery.of("int"), 6);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testNestedSetFails() {
+        FrozenDataContainer.freeze(createContainer()).getView(DataQuery.of("inner")).get().set(DataQuery.of("int"), 6);
+    }
+
+}
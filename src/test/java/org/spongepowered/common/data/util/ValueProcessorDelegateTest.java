@@ -0,0 +1,88 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.util;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.api.data.key.Key;
+import org.spongepowered.api.data.value.ValueContainer;
+import org.spongepowered.api.data.value.mutable.Value;
+import org.spongepowered.common.data.ValueProcessor;
+
+import java.util.Optional;
+
+public class ValueProcessorDelegateTest {
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSkipsUnsupportedContainerClasses() {
+        final ValueContainer<?> container = mock(ValueContainer.class);
+        final ValueProcessor<String, Value<String>> skipped = mock(ValueProcessor.class);
+        final ValueProcessor<String, Value<String>> used = mock(ValueProcessor.class);
+        when(skipped.supportsContainerClass(any())).thenReturn(false);
+        when(used.supportsContainerClass(any())).thenReturn(true);
+        when(used.supports(container)).thenReturn(true);
+        when(used.getValueFromContainer(container)).thenReturn(Optional.of("value"));
+
+        final ValueProcessorDelegate<String, Value<String>> delegate =
+                new ValueProcessorDelegate<>((Key<Value<String>>) mock(Key.class), ImmutableList.of(skipped, used));
+        Assert.assertEquals(Optional.of("value"), delegate.getValueFromContainer(container));
+        Assert.assertEquals(Optional.of("value"), delegate.getValueFromContainer(container));
+
+        verify(skipped, never()).supports(any(ValueContainer.class));
+        verify(skipped, never()).getValueFromContainer(any(ValueContainer.class));
+        // Resolved once per container class
+        verify(skipped, times(1)).supportsContainerClass(container.getClass());
+        verify(used, times(1)).supportsContainerClass(container.getClass());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testFallsThroughInPriorityOrder() {
+        final ValueContainer<?> container = mock(ValueContainer.class);
+        final ValueProcessor<String, Value<String>> first = mock(ValueProcessor.class);
+        final ValueProcessor<String, Value<String>> second = mock(ValueProcessor.class);
+        when(first.supportsContainerClass(any())).thenReturn(true);
+        when(second.supportsContainerClass(any())).thenReturn(true);
+        when(first.supports(container)).thenReturn(true);
+        when(second.supports(container)).thenReturn(true);
+        when(first.getValueFromContainer(container)).thenReturn(Optional.empty());
+        when(second.getValueFromContainer(container)).thenReturn(Optional.of("second"));
+
+        final ValueProcessorDelegate<String, Value<String>> delegate =
+                new ValueProcessorDelegate<>((Key<Value<String>>) mock(Key.class), ImmutableList.of(first, second));
+        Assert.assertEquals(Optional.of("second"), delegate.getValueFromContainer(container));
+        verify(first).getValueFromContainer(container);
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.item.inventory.query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.spongepowered.api.item.inventory.query.QueryOperation;
+import org.spongepowered.common.item.inventory.lens.Fabric;
+import org.spongepowered.common.item.inventory.lens.Lens;
+import org.spongepowered.common.item.inventory.lens.MutableLensSet;
+import org.spongepowered.common.item.inventory.lens.slots.SlotLens;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+public class QueryPlanTest {
+
+    private static Lens lens(final Lens... children) {
+        final Lens lens = mock(Lens.class);
+        when(lens.getChildren()).thenReturn(ImmutableList.copyOf(children));
+        return lens;
+    }
+
+    private static SlotLens slot() {
+        final SlotLens slot = mock(SlotLens.class);
+        when(slot.getChildren()).thenReturn(Collections.emptyList());
+        return slot;
+    }
+
+    @Test
+    public void testMatchesInSearchOrder() {
+        final SlotLens slot0 = slot();
+        final SlotLens slot1 = slot();
+        final SlotLens slot2 = slot();
+        final Lens row = lens(slot0, slot1);
+        final Lens root = lens(row, slot2, slot0);
+
+        final MutableLensSet matches = QueryPlan.of(root)
+                .match(root, new QueryOperation<?>[] {new TestOperation(false, false, lens -> true)}, mock(Fabric.class));
+
+        final List<Lens> found = new ArrayList<>();
+        matches.forEach(found::add);
+        assertEquals(ImmutableList.of(slot0, slot1, row, slot2), found);
+    }
+
+    @Test
+    public void testSlotOnlyOperationSkipsOtherLenses() {
+        final SlotLens slot0 = slot();
+        final Lens row = lens(slot0);
+        final Lens root = lens(row);
+
+        final List<Lens> tested = new ArrayList<>();
+        QueryPlan.of(root).match(root, new QueryOperation<?>[] {new TestOperation(false, true, lens -> tested.add(lens))}, mock(Fabric.class));
+
+        assertEquals(ImmutableList.of(slot0), tested);
+    }
+
+    @Test
+    public void testStructuralMatchesAreCached() {
+        final SlotLens slot0 = slot();
+        final Lens root = lens(slot0);
+
+        final List<Lens> tested = new ArrayList<>();
+        final TestOperation operation = new TestOperation(true, false, lens -> tested.add(lens));
+        final Set<Lens> first = QueryPlan.of(root).match(root, new QueryOperation<?>[] {operation}, mock(Fabric.class));
+        final Set<Lens> second = QueryPlan.of(root).match(root, new QueryOperation<?>[] {operation}, mock(Fabric.class));
+
+        assertEquals(1, tested.size());
+        assertTrue(first.contains(slot0));
+        assertTrue(second.contains(slot0));
+    }
+
+    @Test
+    public void testParentsIncludeTheRoot() {
+        final SlotLens slot0 = slot();
+        final SlotLens slot1 = slot();
+        final Lens row = lens(slot0);
+        final Lens root = lens(row, slot1);
+
+        final Map<Lens, Lens> parents = new HashMap<>();
+        final SpongeQueryOperation<Object> operation = new SpongeQueryOperation<Object>(null) {
+            @Override
+            public boolean matches(final Lens lens, final Lens parent, final Fabric inventory) {
+                parents.put(lens, parent);
+                return false;
+            }
+        };
+        QueryPlan.of(root).match(root, new QueryOperation<?>[] {operation}, mock(Fabric.class));
+
+        assertSame(row, parents.get(slot0));
+        assertSame(root, parents.get(row));
+        assertSame(root, parents.get(slot1));
+    }
+
+    private static final class TestOperation extends SpongeQueryOperation<Object> {
+
+        private final boolean structural;
+        private final boolean slotsOnly;
+        private final Predicate<Lens> predicate;
+
+        TestOperation(final boolean structural, final boolean slotsOnly, final Predicate<Lens> predicate) {
+            super(null);
+            this.structural = structural;
+            this.slotsOnly = slotsOnly;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean matches(final Lens lens, final Lens parent, final Fabric inventory) {
+            return this.predicate.test(lens);
+        }
+
+        @Override
+        public boolean isStructural() {
+            return this.structural;
+        }
+
+        @Override
+        public boolean matchesSlotsOnly() {
+            return this.slotsOnly;
+        }
+
+    }
+
+}
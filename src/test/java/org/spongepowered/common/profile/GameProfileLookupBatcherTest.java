@@ -0,0 +1,187 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.profile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import org.spongepowered.api.profile.GameProfile;
+import org.spongepowered.api.profile.GameProfileCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class GameProfileLookupBatcherTest {
+
+    private final StubRepository repository = new StubRepository();
+    // Batches are flushed by the tests themselves
+    private final GameProfileLookupBatcher batcher = new GameProfileLookupBatcher(() -> this.repository.cache,
+            mock(ScheduledExecutorService.class), 4, TimeUnit.SECONDS, 2);
+
+    @Test
+    public void testCachedProfilesAreNotQueued() {
+        final UUID uniqueId = UUID.randomUUID();
+        final GameProfile profile = this.repository.register(uniqueId);
+        this.repository.cached.put(uniqueId, profile);
+
+        final CompletableFuture<Optional<GameProfile>> future = this.batcher.lookup(uniqueId);
+        assertTrue(future.isDone());
+        assertEquals(Optional.of(profile), future.join());
+        assertEquals(0, this.batcher.getQueueLength());
+        assertTrue(this.repository.lookups.isEmpty());
+    }
+
+    @Test
+    public void testDuplicateLookupsAreCoalesced() {
+        final UUID uniqueId = UUID.randomUUID();
+        final GameProfile profile = this.repository.register(uniqueId);
+
+        final CompletableFuture<Optional<GameProfile>> first = this.batcher.lookup(uniqueId);
+        final CompletableFuture<Optional<GameProfile>> second = this.batcher.lookup(uniqueId);
+        assertSame(first, second);
+        assertEquals(1, this.batcher.getQueueLength());
+
+        assertEquals(1, this.batcher.flush());
+        assertEquals(Optional.of(profile), first.join());
+        assertEquals(1, this.repository.lookups.size());
+        assertEquals(ImmutableSet.of(uniqueId), this.repository.lookups.get(0));
+        assertEquals(0, this.batcher.getPendingLookups());
+        assertEquals(1, this.batcher.getCompletedLookups());
+    }
+
+    @Test
+    public void testLookupsAreBatched() {
+        final List<CompletableFuture<Optional<GameProfile>>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final UUID uniqueId = UUID.randomUUID();
+            this.repository.register(uniqueId);
+            futures.add(this.batcher.lookup(uniqueId));
+        }
+        assertEquals(3, this.batcher.getQueueLength());
+
+        assertEquals(2, this.batcher.flush());
+        assertEquals(1, this.batcher.getQueueLength());
+        assertEquals(1, this.repository.lookups.size());
+        assertEquals(2, this.repository.lookups.get(0).size());
+
+        assertEquals(1, this.batcher.flush());
+        assertEquals(0, this.batcher.flush());
+        assertEquals(2, this.repository.lookups.size());
+        for (CompletableFuture<Optional<GameProfile>> future : futures) {
+            assertTrue(future.join().isPresent());
+        }
+    }
+
+    @Test
+    public void testProfilesCachedWhileQueuedAreNotLookedUp() {
+        final UUID uniqueId = UUID.randomUUID();
+        final GameProfile profile = this.repository.register(uniqueId);
+
+        final CompletableFuture<Optional<GameProfile>> future = this.batcher.lookup(uniqueId);
+        this.repository.cached.put(uniqueId, profile);
+
+        assertEquals(0, this.batcher.flush());
+        assertEquals(Optional.of(profile), future.join());
+        assertTrue(this.repository.lookups.isEmpty());
+    }
+
+    @Test
+    public void testUnknownProfilesAreEmpty() {
+        final CompletableFuture<Optional<GameProfile>> future = this.batcher.lookup(UUID.randomUUID());
+
+        assertEquals(1, this.batcher.flush());
+        assertFalse(future.join().isPresent());
+    }
+
+    @Test
+    public void testFailuresAreReported() {
+        final UUID uniqueId = UUID.randomUUID();
+        final CompletableFuture<Optional<GameProfile>> future = this.batcher.lookup(uniqueId);
+        this.repository.failing = true;
+
+        this.batcher.flush();
+        assertTrue(future.isCompletedExceptionally());
+        assertEquals(0, this.batcher.getPendingLookups());
+
+        // A failed lookup can be queued again
+        this.repository.failing = false;
+        assertFalse(this.batcher.lookup(uniqueId).isDone());
+    }
+
+    /**
+     * A profile repository which knows the registered profiles, in place of
+     * the Mojang session server.
+     */
+    private static final class StubRepository {
+
+        final Map<UUID, GameProfile> profiles = new HashMap<>();
+        final Map<UUID, GameProfile> cached = new HashMap<>();
+        final List<Set<UUID>> lookups = new ArrayList<>();
+        final GameProfileCache cache = mock(GameProfileCache.class);
+        boolean failing;
+
+        @SuppressWarnings("unchecked")
+        StubRepository() {
+            when(this.cache.getById(any())).then(invocation -> Optional.ofNullable(this.cached.get(invocation.<UUID>getArgument(0))));
+            when(this.cache.lookupByIds(any())).then(invocation -> {
+                if (this.failing) {
+                    throw new IllegalStateException("The client has sent too many requests within a certain amount of time");
+                }
+                final Set<UUID> uniqueIds = new HashSet<>((Collection<UUID>) invocation.getArgument(0));
+                this.lookups.add(uniqueIds);
+                final Map<UUID, Optional<GameProfile>> result = new HashMap<>();
+                for (UUID uniqueId : uniqueIds) {
+                    result.put(uniqueId, Optional.ofNullable(this.profiles.get(uniqueId)));
+                }
+                return result;
+            });
+        }
+
+        GameProfile register(UUID uniqueId) {
+            final GameProfile profile = mock(GameProfile.class);
+            when(profile.getUniqueId()).thenReturn(uniqueId);
+            this.profiles.put(uniqueId, profile);
+            return profile;
+        }
+    }
+
+}
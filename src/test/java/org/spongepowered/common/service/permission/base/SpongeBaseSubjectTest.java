@@ -0,0 +1,108 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.permission.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.service.permission.MemorySubjectData;
+import org.spongepowered.api.service.permission.PermissionService;
+import org.spongepowered.api.service.permission.SubjectCollection;
+import org.spongepowered.api.service.permission.SubjectData;
+import org.spongepowered.api.service.permission.SubjectReference;
+import org.spongepowered.api.util.Tristate;
+import org.spongepowered.common.service.permission.SpongePermissionService;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public class SpongeBaseSubjectTest {
+
+    private final SpongePermissionService service = mock(SpongePermissionService.class);
+
+    @Test
+    public void testOwnChangesAreResolved() {
+        final TestSubject subject = new TestSubject("subject");
+
+        assertEquals(Tristate.UNDEFINED, subject.getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.node"));
+        subject.getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "test", Tristate.TRUE);
+        assertEquals(Tristate.TRUE, subject.getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.node"));
+        subject.getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "test.node", Tristate.FALSE);
+        assertEquals(Tristate.FALSE, subject.getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.node"));
+    }
+
+    @Test
+    public void testParentChangesAreResolved() {
+        final TestSubject parent = new TestSubject("parent");
+        final TestSubject child = new TestSubject("child");
+        final SubjectReference reference = mock(SubjectReference.class);
+        when(reference.resolve()).thenReturn(CompletableFuture.completedFuture(parent));
+        child.getSubjectData().addParent(SubjectData.GLOBAL_CONTEXT, reference);
+
+        assertEquals(Tristate.UNDEFINED, child.getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.node"));
+        parent.getSubjectData().setPermission(SubjectData.GLOBAL_CONTEXT, "test.node", Tristate.TRUE);
+        assertEquals(Tristate.TRUE, child.getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.node"));
+        child.getSubjectData().clearParents();
+        assertEquals(Tristate.UNDEFINED, child.getPermissionValue(SubjectData.GLOBAL_CONTEXT, "test.node"));
+    }
+
+    private final class TestSubject extends SpongeSubject {
+
+        private final String identifier;
+        private final MemorySubjectData data = new GlobalMemorySubjectData(SpongeBaseSubjectTest.this.service);
+
+        TestSubject(final String identifier) {
+            this.identifier = identifier;
+        }
+
+        @Override
+        public String getIdentifier() {
+            return this.identifier;
+        }
+
+        @Override
+        public PermissionService getService() {
+            return SpongeBaseSubjectTest.this.service;
+        }
+
+        @Override
+        public MemorySubjectData getSubjectData() {
+            return this.data;
+        }
+
+        @Override
+        public Optional<CommandSource> getCommandSource() {
+            return Optional.empty();
+        }
+
+        @Override
+        public SubjectCollection getContainingCollection() {
+            return mock(SubjectCollection.class);
+        }
+    }
+}
@@ -53,6 +53,9 @@ public void testNonByteAlignedSets() throws UnknownHostException {
         IpSet spec = IpSet.fromCidr("[2064:45:300::]/40");
         assertTrue(spec.apply(InetAddress.getByName("2064:45:310::cafe")));
         assertFalse(spec.apply(InetAddress.getByName("2064:45:410::cafe")));
+        spec = IpSet.fromCidr("172.16.0.0/12");
+        assertTrue(spec.apply(InetAddress.getByName("172.31.255.1")));
+        assertFalse(spec.apply(InetAddress.getByName("172.32.0.1")));
     }
 
     @Test
@@ -0,0 +1,64 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+public class IpSetTrieTest {
+    @Test
+    public void testMatchingSets() throws UnknownHostException {
+        IpSetTrie trie = IpSetTrie.compile(ImmutableMap.of(
+                "private", ImmutableList.of(IpSet.fromCidr("10.0.0.0/8")),
+                "lab", ImmutableList.of(IpSet.fromCidr("10.42.0.0/16")),
+                "ula", ImmutableList.of(IpSet.fromCidr("[fc00::]/7"))));
+        assertEquals(ImmutableList.of("private", "lab"), trie.getMatchingSets(InetAddress.getByName("10.42.2.5")));
+        assertEquals(ImmutableList.of("private"), trie.getMatchingSets(InetAddress.getByName("10.43.2.5")));
+        assertEquals(ImmutableList.of("ula"), trie.getMatchingSets(InetAddress.getByName("fd12::1")));
+        assertEquals(ImmutableList.of(), trie.getMatchingSets(InetAddress.getByName("192.168.0.1")));
+    }
+
+    @Test
+    public void testAllSetsOfGroupMustMatch() throws UnknownHostException {
+        IpSetTrie trie = IpSetTrie.compile(ImmutableMap.of(
+                "both", ImmutableList.of(IpSet.fromCidr("10.0.0.0/8"), IpSet.fromCidr("10.42.0.0/16"), IpSet.fromCidr("10.42.0.0/16")),
+                "any", ImmutableList.of()));
+        assertEquals(ImmutableList.of("both", "any"), trie.getMatchingSets(InetAddress.getByName("10.42.2.5")));
+        assertEquals(ImmutableList.of("any"), trie.getMatchingSets(InetAddress.getByName("10.43.2.5")));
+    }
+
+    @Test
+    public void testNonByteAlignedSets() throws UnknownHostException {
+        IpSetTrie trie = IpSetTrie.compile(ImmutableMap.of("set", ImmutableList.of(IpSet.fromCidr("172.16.0.0/12"))));
+        assertEquals(ImmutableList.of("set"), trie.getMatchingSets(InetAddress.getByName("172.31.255.1")));
+        assertEquals(ImmutableList.of(), trie.getMatchingSets(InetAddress.getByName("172.32.0.1")));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.persistence.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.persistence.BinaryDataFormat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BinaryDataFormatTest {
+
+    private final BinaryDataFormat format = new BinaryDataFormat("binary");
+
+    private byte[] write(final DataView view) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        this.format.writeTo(output, view);
+        return output.toByteArray();
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final DataContainer container = DataContainer.createNew()
+                .set(DataQuery.of("int"), -5)
+                .set(DataQuery.of("long"), Long.MAX_VALUE)
+                .set(DataQuery.of("short"), (short) 300)
+                .set(DataQuery.of("byte"), (byte) -1)
+                .set(DataQuery.of("double"), 1.5D)
+                .set(DataQuery.of("float"), 2.5F)
+                .set(DataQuery.of("flag"), true)
+                .set(DataQuery.of("string"), "välue")
+                .set(DataQuery.of("list"), ImmutableList.of("a", "b"))
+                .set(DataQuery.of("inner", "ints"), new int[] {1, -2, Integer.MIN_VALUE})
+                .set(DataQuery.of("inner", "bytes"), new byte[] {1, 2, 3})
+                .set(DataQuery.of("inner", "longs"), new long[] {Long.MIN_VALUE, 0});
+
+        final DataContainer read = this.format.readFrom(new ByteArrayInputStream(this.write(container)));
+
+        assertEquals(-5, read.getInt(DataQuery.of("int")).get().intValue());
+        assertEquals(Long.MAX_VALUE, read.getLong(DataQuery.of("long")).get().longValue());
+        assertEquals((short) 300, read.getShort(DataQuery.of("short")).get().shortValue());
+        assertEquals((byte) -1, read.getByte(DataQuery.of("byte")).get().byteValue());
+        assertEquals(1.5D, read.getDouble(DataQuery.of("double")).get(), 0);
+        assertEquals(2.5F, read.getFloat(DataQuery.of("float")).get(), 0);
+        assertTrue(read.getBoolean(DataQuery.of("flag")).get());
+        assertEquals("välue", read.getString(DataQuery.of("string")).get());
+        assertEquals(ImmutableList.of("a", "b"), read.getStringList(DataQuery.of("list")).get());
+        assertArrayEquals(new int[] {1, -2, Integer.MIN_VALUE}, (int[]) read.get(DataQuery.of("inner", "ints")).get());
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) read.get(DataQuery.of("inner", "bytes")).get());
+        assertArrayEquals(new long[] {Long.MIN_VALUE, 0}, (long[]) read.get(DataQuery.of("inner", "longs")).get());
+    }
+
+    @Test
+    public void testRepeatedNamesAreWrittenOnce() throws IOException {
+        final List<DataView> entries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            entries.add(DataContainer.createNew().set(DataQuery.of("a_rather_long_entry_name"), i));
+        }
+        final DataContainer container = DataContainer.createNew().set(DataQuery.of("entries"), entries);
+        final byte[] bytes = this.write(container);
+
+        // Each entry needs at most a view tag, a value tag, a name index, a varint and an end tag
+        assertTrue(bytes.length < 100 * 6 + 64);
+
+        final DataContainer read = this.format.readFrom(ByteBuffer.wrap(bytes));
+        final List<DataView> readEntries = read.getViewList(DataQuery.of("entries")).get();
+        assertEquals(100, readEntries.size());
+        assertEquals(99, readEntries.get(99).getInt(DataQuery.of("a_rather_long_entry_name")).get().intValue());
+    }
+
+    @Test
+    public void testNestedListsOfViewsRoundTrip() throws IOException {
+        final List<DataView> items = new ArrayList<>();
+        for (int slot = 0; slot < 3; slot++) {
+            items.add(DataContainer.createNew()
+                    .set(DataQuery.of("Slot"), (byte) slot)
+                    .set(DataQuery.of("tag", "ench"), ImmutableList.of(
+                            DataContainer.createNew().set(DataQuery.of("id"), (short) slot).set(DataQuery.of("lvl"), (short) 1))));
+        }
+        final DataContainer container = DataContainer.createNew()
+                .set(DataQuery.of("Items"), items)
+                .set(DataQuery.of("after"), "value");
+
+        final DataContainer read = this.format.readFrom(ByteBuffer.wrap(this.write(container)));
+
+        final List<DataView> readItems = read.getViewList(DataQuery.of("Items")).get();
+        assertEquals(3, readItems.size());
+        assertEquals((byte) 2, readItems.get(2).getByte(DataQuery.of("Slot")).get().byteValue());
+        final List<DataView> ench = readItems.get(2).getViewList(DataQuery.of("tag", "ench")).get();
+        assertEquals(1, ench.size());
+        assertEquals((short) 2, ench.get(0).getShort(DataQuery.of("id")).get().shortValue());
+        assertEquals("value", read.getString(DataQuery.of("after")).get());
+    }
+
+}
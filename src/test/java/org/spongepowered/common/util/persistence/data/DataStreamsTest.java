@@ -0,0 +1,161 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.persistence.data;
+
+import com.google.gson.stream.JsonWriter;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.persistence.DataStreams;
+import org.spongepowered.common.data.persistence.JsonDataFormat;
+import org.spongepowered.common.data.persistence.JsonDataWriter;
+import org.spongepowered.common.data.persistence.NbtDataWriter;
+import org.spongepowered.common.data.persistence.NbtTranslator;
+import org.spongepowered.common.util.Constants;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class DataStreamsTest {
+
+    private static NBTTagCompound createCompound() {
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setInteger("int", 5);
+        compound.setString("string", "value");
+        compound.setByte("flag" + NbtTranslator.BOOLEAN_IDENTIFIER, (byte) 1);
+        final NBTTagCompound inner = new NBTTagCompound();
+        inner.setDouble("double", 1.5);
+        compound.setTag("inner", inner);
+        final NBTTagList list = new NBTTagList();
+        list.appendTag(new NBTTagString("a"));
+        list.appendTag(new NBTTagString("b"));
+        compound.setTag("list", list);
+        return compound;
+    }
+
+    private static NBTTagCompound createCompoundWithViewList() {
+        final NBTTagCompound compound = new NBTTagCompound();
+        final NBTTagList items = new NBTTagList();
+        for (int slot = 0; slot < 2; slot++) {
+            final NBTTagCompound item = new NBTTagCompound();
+            item.setByte("Slot", (byte) slot);
+            item.setString("id", "minecraft:stone");
+            items.appendTag(item);
+        }
+        compound.setTag("Items", items);
+        compound.setString("after", "value");
+        return compound;
+    }
+
+    @Test
+    public void testNbtToJsonMatchesContainer() throws IOException {
+        final NBTTagCompound compound = createCompound();
+        final StringWriter direct = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(direct)) {
+            DataStreams.visit(compound, new JsonDataWriter(writer));
+        }
+        final String viaContainer = new JsonDataFormat().write(NbtTranslator.getInstance().translate(compound));
+        assertEquals(viaContainer, direct.toString());
+    }
+
+    @Test
+    public void testNbtRoundTrip() {
+        final NBTTagCompound compound = createCompound();
+        final DataContainer container = NbtTranslator.getInstance().translate(compound);
+        assertEquals(true, container.getBoolean(DataQuery.of("flag")).get());
+        assertEquals(1.5, container.getDouble(DataQuery.of("inner", "double")).get(), 0);
+        assertEquals(compound, NbtTranslator.getInstance().translate(container));
+    }
+
+    @Test
+    public void testNbtListOfViewsRoundTrip() {
+        final NBTTagCompound compound = createCompoundWithViewList();
+        final DataContainer container = NbtTranslator.getInstance().translate(compound);
+        final List<DataView> items = container.getViewList(DataQuery.of("Items")).get();
+        assertEquals(2, items.size());
+        assertEquals("minecraft:stone", items.get(1).getString(DataQuery.of("id")).get());
+        assertEquals("value", container.getString(DataQuery.of("after")).get());
+        assertEquals(compound, NbtTranslator.getInstance().translate(container));
+    }
+
+    @Test
+    public void testJsonListOfViewsRoundTrip() throws IOException {
+        final JsonDataFormat format = new JsonDataFormat();
+        final DataContainer container = NbtTranslator.getInstance().translate(createCompoundWithViewList());
+        final String json = format.write(container);
+        final DataContainer read = format.read(json);
+        final List<DataView> items = read.getViewList(DataQuery.of("Items")).get();
+        assertEquals(2, items.size());
+        assertEquals("minecraft:stone", items.get(0).getString(DataQuery.of("id")).get());
+        assertEquals("value", read.getString(DataQuery.of("after")).get());
+        assertEquals(json, format.write(read));
+    }
+
+    @Test
+    public void testNbtMapEntriesKeepPlainBooleans() {
+        final NbtDataWriter writer = new NbtDataWriter();
+        writer.beginView();
+        writer.name("flag");
+        writer.value(true);
+        writer.name("map");
+        writer.beginView();
+        writer.mapKey("enabled");
+        writer.value(true);
+        writer.endView();
+        writer.endView();
+
+        final NBTTagCompound root = writer.getRoot();
+        assertEquals(1, root.getByte("flag" + NbtTranslator.BOOLEAN_IDENTIFIER));
+        assertEquals(1, root.getCompoundTag("map").getByte("enabled"));
+        assertFalse(root.getCompoundTag("map").hasKey("enabled" + NbtTranslator.BOOLEAN_IDENTIFIER));
+    }
+
+    @Test
+    public void testNbtNullValuesAreSkipped() {
+        final NbtDataWriter writer = new NbtDataWriter();
+        writer.beginView();
+        writer.name("missing");
+        writer.value(null);
+        writer.name("list");
+        writer.beginList(2);
+        writer.value(null);
+        writer.value("a");
+        writer.endList();
+        writer.endView();
+
+        final NBTTagCompound root = writer.getRoot();
+        assertFalse(root.hasKey("missing"));
+        assertEquals(1, root.getTagList("list", Constants.NBT.TAG_STRING).tagCount());
+    }
+
+}
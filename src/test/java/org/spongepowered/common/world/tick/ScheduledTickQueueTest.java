@@ -0,0 +1,225 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.tick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.NextTickListEntry;
+import net.minecraft.world.gen.structure.StructureBoundingBox;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class ScheduledTickQueueTest {
+
+    private static NextTickListEntry entry(final int x, final int z, final long time, final int priority) {
+        final NextTickListEntry entry = new NextTickListEntry(new BlockPos(x, 64, z), null);
+        entry.setScheduledTime(time);
+        entry.setPriority(priority);
+        return entry;
+    }
+
+    @Test
+    public void testDrainsInTreeSetOrder() {
+        final Random random = new Random(42);
+        final List<NextTickListEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            entries.add(entry(random.nextInt(64), random.nextInt(64), random.nextInt(20), random.nextInt(5) - 3));
+        }
+        Collections.shuffle(entries, random);
+
+        final ScheduledTickQueue queue = new ScheduledTickQueue();
+        final TreeSet<NextTickListEntry> expected = new TreeSet<>();
+        for (final NextTickListEntry entry : entries) {
+            assertTrue(queue.add(entry));
+            expected.add(entry);
+        }
+        assertEquals(expected.size(), queue.size());
+
+        while (!expected.isEmpty()) {
+            final NextTickListEntry first = queue.first();
+            assertSame(expected.first(), first);
+            assertTrue(queue.remove(first));
+            expected.remove(first);
+        }
+        assertTrue(queue.isEmpty());
+        assertNull(queue.pollFirst());
+    }
+
+    @Test
+    public void testPriorityOrderingWithinTick() {
+        final ScheduledTickQueue queue = new ScheduledTickQueue();
+        final NextTickListEntry normal = entry(0, 0, 10, 0);
+        final NextTickListEntry urgent = entry(1, 0, 10, -3);
+        final NextTickListEntry later = entry(2, 0, 11, -3);
+        final NextTickListEntry sameAsNormal = entry(3, 0, 10, 0);
+        queue.add(later);
+        queue.add(normal);
+        queue.add(sameAsNormal);
+        queue.add(urgent);
+
+        assertSame(urgent, queue.pollFirst());
+        assertSame(normal, queue.pollFirst());
+        assertSame(sameAsNormal, queue.pollFirst());
+        assertSame(later, queue.pollFirst());
+    }
+
+    @Test
+    public void testRemovedEntriesAreSkipped() {
+        final ScheduledTickQueue queue = new ScheduledTickQueue();
+        final NextTickListEntry first = entry(0, 0, 5, 0);
+        final NextTickListEntry second = entry(1, 0, 5, 0);
+        queue.add(first);
+        queue.add(second);
+
+        assertTrue(queue.remove(first));
+        assertFalse(queue.remove(first));
+        assertFalse(queue.contains(first));
+        assertEquals(1, queue.size());
+        assertSame(second, queue.first());
+    }
+
+    @Test
+    public void testRescheduledEntriesAreKept() {
+        final ScheduledTickQueue queue = new ScheduledTickQueue();
+        final NextTickListEntry first = entry(0, 0, 5, 0);
+        final NextTickListEntry second = entry(1, 0, 7, 0);
+        final NextTickListEntry third = entry(2, 0, 9, 0);
+        queue.add(first);
+        queue.add(second);
+        queue.add(third);
+
+        // As ScheduledBlockUpdate#setTicks does on a queued update
+        first.scheduledTime = 8;
+
+        // Drain the way WorldServer#tickUpdates does
+        final List<NextTickListEntry> drained = new ArrayList<>();
+        for (int i = queue.size(); i > 0; i--) {
+            final NextTickListEntry next = queue.first();
+            assertTrue(queue.remove(next));
+            drained.add(next);
+            assertEquals(i - 1, queue.size());
+        }
+        assertEquals(Arrays.asList(second, first, third), drained);
+        assertTrue(queue.isEmpty());
+        assertNull(queue.pollFirst());
+    }
+
+    @Test
+    public void testChunkIteration() {
+        final ScheduledTickQueue queue = new ScheduledTickQueue();
+        final NextTickListEntry inChunkLate = entry(3, 3, 20, 0);
+        final NextTickListEntry inChunkEarly = entry(15, 0, 10, 0);
+        final NextTickListEntry otherChunk = entry(16, 0, 1, 0);
+        queue.add(inChunkLate);
+        queue.add(inChunkEarly);
+        queue.add(otherChunk);
+
+        final Iterator<NextTickListEntry> iterator = queue.iterator(new StructureBoundingBox(0, 0, 0, 15, 255, 15));
+        assertSame(inChunkEarly, iterator.next());
+        iterator.remove();
+        assertSame(inChunkLate, iterator.next());
+        assertFalse(iterator.hasNext());
+
+        assertEquals(2, queue.size());
+        assertSame(otherChunk, queue.pollFirst());
+        assertSame(inChunkLate, queue.pollFirst());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testNavigationMatchesTreeSet() {
+        final Random random = new Random(7);
+        final ScheduledTickQueue queue = new ScheduledTickQueue();
+        final TreeSet<NextTickListEntry> expected = new TreeSet<>();
+        for (int i = 0; i < 200; i++) {
+            final NextTickListEntry entry = entry(random.nextInt(64), random.nextInt(64), random.nextInt(20), random.nextInt(5) - 3);
+            queue.add(entry);
+            expected.add(entry);
+        }
+
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(queue));
+        assertSame(expected.last(), queue.last());
+        final List<NextTickListEntry> descending = new ArrayList<>();
+        queue.descendingIterator().forEachRemaining(descending::add);
+        assertEquals(new ArrayList<>(expected.descendingSet()), descending);
+
+        final NextTickListEntry pivot = new ArrayList<>(expected).get(100);
+        assertSame(expected.lower(pivot), queue.lower(pivot));
+        assertSame(expected.higher(pivot), queue.higher(pivot));
+        assertSame(expected.floor(pivot), queue.floor(pivot));
+        assertSame(expected.ceiling(pivot), queue.ceiling(pivot));
+        assertEquals(new ArrayList<>(expected.headSet(pivot)), new ArrayList<>(queue.headSet(pivot)));
+        assertEquals(new ArrayList<>(expected.tailSet(pivot, false)), new ArrayList<>(queue.tailSet(pivot, false)));
+
+        // Entries added after the index was built are still ordered
+        final NextTickListEntry late = entry(0, 0, 5, 0);
+        queue.add(late);
+        expected.add(late);
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(queue));
+    }
+
+    @Test
+    public void testViewChangesWriteThrough() {
+        final ScheduledTickQueue queue = new ScheduledTickQueue();
+        final List<NextTickListEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final NextTickListEntry entry = entry(i, 0, i, 0);
+            entries.add(entry);
+            queue.add(entry);
+        }
+
+        assertSame(entries.get(9), queue.pollLast());
+        assertFalse(queue.contains(entries.get(9)));
+
+        queue.headSet(entries.get(3)).clear();
+        assertEquals(6, queue.size());
+        assertSame(entries.get(3), queue.first());
+        assertSame(entries.get(3), queue.pollFirst());
+
+        final Iterator<NextTickListEntry> iterator = queue.iterator();
+        iterator.next();
+        iterator.remove();
+        assertFalse(queue.contains(entries.get(4)));
+        assertSame(entries.get(5), queue.pollFirst());
+
+        final ScheduledTickQueue copy = (ScheduledTickQueue) queue.clone();
+        assertEquals(new ArrayList<>(queue), new ArrayList<>(copy));
+        assertTrue(copy.remove(entries.get(6)));
+        assertTrue(queue.contains(entries.get(6)));
+    }
+
+}